@@ -0,0 +1,57 @@
+package com.ttexpertise;
+
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.model.entity.ExpertiseLatest;
+import com.ttexpertise.model.entity.Question;
+import com.ttexpertise.service.QuestionCatalog;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark'ların paylaştığı veri: soru id'leri 1..n, her cevap "Evet" ve {@code photos} fotoğraflı.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static QuestionCatalog.Snapshot catalog(int questions) {
+        List<Question> list = new ArrayList<>(questions);
+        for (long id = 1; id <= questions; id++) {
+            Question question = new Question();
+            question.setId(id);
+            question.setText("Soru " + id + ": aracın bu parçasında hasar veya eksiklik var mı?");
+            question.setActive(true);
+            list.add(question);
+        }
+        return QuestionCatalog.Snapshot.of(1, list);
+    }
+
+    public static ExpertiseLatest latest(String carId, int answers, int photos) {
+        ExpertiseLatest latest = new ExpertiseLatest();
+        latest.setCarId(carId);
+        latest.setExpertiseId(UUID.randomUUID());
+        latest.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        latest.setAnswers(IntStream.rangeClosed(1, answers)
+                .mapToObj(id -> new ExpertiseLatest.AnswerSnapshot(id, true, "Açıklama " + id, photoUrls(carId, id, photos)))
+                .toList());
+        return latest;
+    }
+
+    public static CreateExpertiseRequest createRequest(String carId, int answers, int photos) {
+        return new CreateExpertiseRequest(carId, IntStream.rangeClosed(1, answers)
+                .mapToObj(id -> new CreateExpertiseRequest.AnswerPayload((long) id, true, "Açıklama " + id,
+                        photoUrls(carId, id, photos)))
+                .toList());
+    }
+
+    private static List<String> photoUrls(String carId, int questionId, int photos) {
+        return IntStream.rangeClosed(1, photos)
+                .mapToObj(i -> "https://cdn.example.com/" + carId + "/" + questionId + "/" + i + ".jpg")
+                .toList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ttexpertise.business.impl;
+
+import com.ttexpertise.BenchmarkFixtures;
+import com.ttexpertise.model.dto.ReadExpertiseResponse;
+import com.ttexpertise.model.entity.ExpertiseLatest;
+import com.ttexpertise.service.QuestionCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * readForCar'ın cache kaçırdığında yaptığı eşleme: katalog soruları x araç özetindeki cevaplar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadMappingBenchmark {
+
+    @Param({"10", "50", "200"})
+    int questions;
+
+    @Param({"0", "3"})
+    int photos;
+
+    private List<QuestionCatalog.CatalogQuestion> catalogQuestions;
+    private ExpertiseLatest latest;
+
+    @Setup
+    public void setUp() {
+        catalogQuestions = BenchmarkFixtures.catalog(questions).activeQuestions();
+        latest = BenchmarkFixtures.latest("CAR-1", questions, photos);
+    }
+
+    @Benchmark
+    public ReadExpertiseResponse withLatestExpertise() {
+        return ExpertiseServiceImpl.toResponse("CAR-1", latest, catalogQuestions);
+    }
+
+    @Benchmark
+    public ReadExpertiseResponse withoutExpertise() {
+        return ExpertiseServiceImpl.toResponse("CAR-1", null, catalogQuestions);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ttexpertise.business.impl;
+
+import com.ttexpertise.BenchmarkFixtures;
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.service.QuestionCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Oluşturma isteğindeki cevap kuralları; katalog boyutu cevap sayısıyla aynıdır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidateAnswersBenchmark {
+
+    @Param({"10", "50", "200"})
+    int answers;
+
+    @Param({"1", "3"})
+    int photos;
+
+    private CreateExpertiseRequest request;
+    private QuestionCatalog.Snapshot catalog;
+
+    @Setup
+    public void setUp() {
+        request = BenchmarkFixtures.createRequest("CAR-1", answers, photos);
+        catalog = BenchmarkFixtures.catalog(answers);
+    }
+
+    @Benchmark
+    public void validateAnswers() {
+        ExpertiseValidation.validateAnswers(request.answers(), catalog);
+    }
+}
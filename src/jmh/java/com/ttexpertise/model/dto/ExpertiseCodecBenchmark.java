@@ -0,0 +1,85 @@
+package com.ttexpertise.model.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.ttexpertise.BenchmarkFixtures;
+import com.ttexpertise.model.entity.ExpertiseLatest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Okuma cevabı ve oluşturma isteğinin Jackson ile kodlanması/çözülmesi; mapper'lar uygulamadaki gibi
+ * {@link Jackson2ObjectMapperBuilder} ile kurulur.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpertiseCodecBenchmark {
+
+    @Param({"json", "cbor"})
+    String format;
+
+    @Param({"10", "50", "200"})
+    int questions;
+
+    @Param({"0", "3"})
+    int photos;
+
+    private ObjectMapper mapper;
+    private ReadExpertiseResponse readResponse;
+    private CreateExpertiseRequest createRequest;
+    private byte[] readResponseBytes;
+    private byte[] createRequestBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        ExpertiseLatest latest = BenchmarkFixtures.latest("CAR-1", questions, photos);
+        readResponse = new ReadExpertiseResponse("CAR-1", latest.getExpertiseId(), latest.getAnswers().stream()
+                .map(answer -> new ReadExpertiseResponse.QuestionItem(answer.questionId(), "Soru " + answer.questionId(),
+                        new ReadExpertiseResponse.Previous(answer.answeredYes(), answer.description(), answer.photoUrls())))
+                .toList());
+        // Oluşturma isteğinde "Evet" en az bir fotoğraf ister
+        createRequest = BenchmarkFixtures.createRequest("CAR-1", questions, Math.max(1, photos));
+        readResponseBytes = mapper.writeValueAsBytes(readResponse);
+        createRequestBytes = mapper.writeValueAsBytes(createRequest);
+    }
+
+    @Benchmark
+    public byte[] encodeReadResponse() throws IOException {
+        return mapper.writeValueAsBytes(readResponse);
+    }
+
+    @Benchmark
+    public ReadExpertiseResponse decodeReadResponse() throws IOException {
+        return mapper.readValue(readResponseBytes, ReadExpertiseResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodeCreateRequest() throws IOException {
+        return mapper.writeValueAsBytes(createRequest);
+    }
+
+    @Benchmark
+    public CreateExpertiseRequest decodeCreateRequest() throws IOException {
+        return mapper.readValue(createRequestBytes, CreateExpertiseRequest.class);
+    }
+}
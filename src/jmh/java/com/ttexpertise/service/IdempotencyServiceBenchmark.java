@@ -0,0 +1,153 @@
+package com.ttexpertise.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link IdempotencyService} depoları: mevcut/eksik anahtar okuma ve anahtar ayırma maliyeti.
+ * Varsayılan çalıştırma yalnızca Caffeine tabanlı bellek içi depoyu ölçer; Redis deposu {@code -p store=redis} ile
+ * seçilir ve {@code REDIS_HOST}/{@code REDIS_PORT}'taki sunucuya bağlanır. Redis'e ulaşılamazsa bu parametre
+ * kombinasyonu açık bir hatayla durur.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class IdempotencyServiceBenchmark {
+
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final String RESULT = "{\"id\":\"7f1c0a52-8d1e-4b7e-9a43-2f6a9c1d5e30\"}";
+
+    private static final int LOAD_BATCH = 10_000;
+
+    @Param({"memory"})
+    String store;
+
+    @Param({"10000", "1000000"})
+    int existingKeys;
+
+    private IdempotencyService service;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private String keyPrefix;
+    private String[] hitKeys;
+    private String[] missKeys;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLong newKeys = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        // Her çalıştırmanın anahtarları ayrı önekle yazılır; paylaşılan Redis'teki verilerle karışmaz
+        keyPrefix = "bench-" + UUID.randomUUID() + ":expertise:create:";
+        service = switch (store) {
+            case "memory" -> new InMemoryIdempotencyService(new SimpleMeterRegistry(), 512L * 1024 * 1024);
+            case "redis" -> connectRedis();
+            default -> throw new IllegalArgumentException("Bilinmeyen store: " + store + " (memory veya redis)");
+        };
+        hitKeys = new String[existingKeys];
+        missKeys = new String[existingKeys];
+        Map<String, String> batch = new HashMap<>();
+        for (int i = 0; i < existingKeys; i++) {
+            hitKeys[i] = keyPrefix + i;
+            missKeys[i] = keyPrefix + "missing-" + i;
+            batch.put(hitKeys[i], RESULT);
+            if (batch.size() == LOAD_BATCH) {
+                service.markAllAsProcessed(batch, TTL);
+                batch.clear();
+            }
+        }
+        service.markAllAsProcessed(batch, TTL);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (connectionFactory == null) {
+            return;
+        }
+        // Bu çalıştırmanın yazdığı anahtarlar silinir
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions()
+                .match("idempotency:" + keyPrefix + "*").count(LOAD_BATCH).build())) {
+            List<String> batch = new ArrayList<>();
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == LOAD_BATCH) {
+                    redisTemplate.delete(batch);
+                    batch.clear();
+                }
+            }
+            redisTemplate.delete(batch);
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    private IdempotencyService connectRedis() {
+        String host = System.getenv().getOrDefault("REDIS_HOST", "localhost");
+        int port = Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"));
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        try {
+            redisTemplate.getConnectionFactory().getConnection().ping();
+        } catch (RuntimeException e) {
+            connectionFactory.destroy();
+            connectionFactory = null;
+            throw new IllegalStateException("Redis'e ulaşılamadı (" + host + ":" + port
+                    + "); store=redis için REDIS_HOST/REDIS_PORT ayarlayın", e);
+        }
+        return new RedisIdempotencyService(redisTemplate);
+    }
+
+    @Benchmark
+    public String getResultHit() {
+        return service.getResult(hitKeys[nextIndex()]);
+    }
+
+    @Benchmark
+    public String getResultMiss() {
+        return service.getResult(missKeys[nextIndex()]);
+    }
+
+    @Benchmark
+    public String reserveNewKey() {
+        return service.reserveOrGet(keyPrefix + "new-" + newKeys.incrementAndGet(), TTL);
+    }
+
+    @Benchmark
+    public String reserveExistingKey() {
+        return service.reserveOrGet(hitKeys[nextIndex()], TTL);
+    }
+
+    private int nextIndex() {
+        return (int) (cursor.getAndIncrement() % existingKeys);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ttexpertise.business.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Satırları en fazla {@code maxLineBytes} UTF-8 byte'a kadar okur. Daha uzun satırın geri kalanı bellekte
+ * tutulmadan bir sonraki {@code \n}'e kadar atlanır; böylece tek bir satır yüklemenin tamamını belleğe alamaz.
+ */
+final class BoundedLineReader {
+
+    private final Reader reader;
+    private final int maxLineBytes;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean tooLong;
+
+    BoundedLineReader(Reader reader, int maxLineBytes) {
+        this.reader = reader;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    /**
+     * Sonraki satır ({@code \r\n} ve {@code \n} ayırıcısız); akış bittiyse null. Satır sınırı aşıyorsa boş döner ve
+     * {@link #isTooLong()} true olur.
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        tooLong = false;
+        int bytes = 0;
+        boolean any = false;
+        while (true) {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return any ? finish() : null;
+                }
+            }
+            any = true;
+            char c = buffer[position++];
+            if (c == '\n') {
+                return finish();
+            }
+            if (tooLong) {
+                continue;
+            }
+            // UTF-8 uzunluğu: surrogate çiftin her yarısı 2 byte, toplam 4
+            bytes += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+            if (bytes > maxLineBytes) {
+                tooLong = true;
+                line.setLength(0);
+            } else {
+                line.append(c);
+            }
+        }
+    }
+
+    boolean isTooLong() {
+        return tooLong;
+    }
+
+    private String finish() {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        return line.toString();
+    }
+}
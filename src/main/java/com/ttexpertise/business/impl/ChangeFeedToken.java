@@ -0,0 +1,55 @@
+package com.ttexpertise.business.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Değişiklik akışında son görülen {@code (change_txid, id)} çifti; istemciye opak base64url {@code since} olarak verilir.
+ * Sharding açıkken txid'ler shard'lar arasında karşılaştırılamaz; token shard başına bir çifti virgülle ayırarak taşır.
+ */
+record ChangeFeedToken(long txid, UUID id) {
+
+    // Hiç senkronize olmamış istemci için akışın başı
+    static final ChangeFeedToken START = new ChangeFeedToken(-1, new UUID(0, 0));
+
+    String encode() {
+        return encodeAll(List.of(this));
+    }
+
+    static ChangeFeedToken decode(String since) {
+        return decodeAll(since, 1).get(0);
+    }
+
+    static String encodeAll(List<ChangeFeedToken> positions) {
+        String joined = positions.stream().map(token -> token.txid() + "|" + token.id()).collect(Collectors.joining(","));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Shard başına konumları döner; shard sayısı değiştiyse eski token geçersizdir.
+     */
+    static List<ChangeFeedToken> decodeAll(String since, int shards) {
+        if (since == null || since.isBlank()) {
+            return Collections.nCopies(shards, START);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(since), StandardCharsets.UTF_8).split(",");
+            if (parts.length != shards) {
+                throw new IllegalArgumentException("shard sayısı uyuşmuyor");
+            }
+            List<ChangeFeedToken> positions = new ArrayList<>(shards);
+            for (String part : parts) {
+                int separator = part.indexOf('|');
+                positions.add(new ChangeFeedToken(Long.parseLong(part.substring(0, separator)), UUID.fromString(part.substring(separator + 1))));
+            }
+            return positions;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Geçersiz since: " + since);
+        }
+    }
+}
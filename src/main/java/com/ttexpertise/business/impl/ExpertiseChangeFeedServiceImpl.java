@@ -0,0 +1,122 @@
+package com.ttexpertise.business.impl;
+
+import com.ttexpertise.business.service.ExpertiseChangeFeedService;
+import com.ttexpertise.model.dto.ExpertiseChangePage;
+import com.ttexpertise.model.dto.ExpertiseHistoryPage;
+import com.ttexpertise.model.entity.Expertise;
+import com.ttexpertise.repository.AnswerRepository;
+import com.ttexpertise.repository.ExpertiseRepository;
+import com.ttexpertise.service.QuestionCatalog;
+import com.ttexpertise.service.ShardRouting;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Çevrimdışı çalışan istemcilerin tam yenileme yerine yalnızca yeni ekspertizleri çekmesi için değişiklik akışı.
+ * Sıra anahtarı yazan transaction'ın id'sidir; akış yalnızca bitmiş transaction'ları döndüğünden token'ın
+ * gerisine sonradan satır düşmez. Yeni kayıt yoksa sorgu index üzerinde boş döner, sık sorgulamak ucuzdur.
+ * Sharding açıkken her shard kendi konumundan paralel okunur; sayfa shard'ların başlarından created_at sırasıyla
+ * doldurulur ve yalnızca sayfaya giren kayıtların shard konumları ilerler.
+ */
+@Service
+public class ExpertiseChangeFeedServiceImpl implements ExpertiseChangeFeedService {
+
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_CAR_IDS = 500;
+
+    private final ExpertiseRepository expertiseRepository;
+    private final AnswerRepository answerRepository;
+    private final QuestionCatalog questionCatalog;
+    private final ShardRouting shardRouting;
+
+    public ExpertiseChangeFeedServiceImpl(ExpertiseRepository expertiseRepository,
+                                          AnswerRepository answerRepository,
+                                          QuestionCatalog questionCatalog,
+                                          ShardRouting shardRouting) {
+        this.expertiseRepository = expertiseRepository;
+        this.answerRepository = answerRepository;
+        this.questionCatalog = questionCatalog;
+        this.shardRouting = shardRouting;
+    }
+
+    @Override
+    public ExpertiseChangePage changesSince(String since, Collection<String> carIds, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit 1 ile " + MAX_PAGE_SIZE + " arasında olmalı");
+        }
+        if (carIds != null && carIds.size() > MAX_CAR_IDS) {
+            throw new IllegalArgumentException("En fazla " + MAX_CAR_IDS + " carId ile filtrelenebilir");
+        }
+        List<ChangeFeedToken> positions = new ArrayList<>(ChangeFeedToken.decodeAll(since, shardRouting.shardCount()));
+
+        // 1. Her shard konumundan sonraki limit+1 değişikliği okur; filtre varsa yalnızca araçların shard'ları sorgulanır
+        Map<Integer, List<String>> carIdsByShard = carIds == null || carIds.isEmpty()
+                ? null
+                : shardRouting.groupByShard(carIds, Function.identity());
+        Map<Integer, List<Expertise>> changesByShard = shardRouting.scatter(
+                carIdsByShard == null ? shardRouting.allShards() : carIdsByShard.keySet(),
+                shard -> findChanges(positions.get(shard), carIdsByShard == null ? null : carIdsByShard.get(shard), limit + 1));
+
+        // 2. Sayfa shard başlarından created_at sırasıyla dolar; sayfaya girmeyen satır devamı olduğunu gösterir
+        Map<Integer, List<Expertise>> pageByShard = new TreeMap<>();
+        List<Expertise> page = new ArrayList<>();
+        while (page.size() < limit) {
+            Expertise next = null;
+            int nextShard = -1;
+            for (Map.Entry<Integer, List<Expertise>> shard : changesByShard.entrySet()) {
+                int taken = pageByShard.getOrDefault(shard.getKey(), List.of()).size();
+                if (taken < shard.getValue().size()) {
+                    Expertise head = shard.getValue().get(taken);
+                    if (next == null || head.getCreatedAt().isBefore(next.getCreatedAt())) {
+                        next = head;
+                        nextShard = shard.getKey();
+                    }
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            pageByShard.computeIfAbsent(nextShard, shard -> new ArrayList<>()).add(next);
+            page.add(next);
+        }
+        boolean hasMore = changesByShard.entrySet().stream()
+                .anyMatch(shard -> shard.getValue().size() > pageByShard.getOrDefault(shard.getKey(), List.of()).size());
+        if (page.isEmpty()) {
+            // Yeni bir şey yok; istemci aynı token ile devam eder
+            return new ExpertiseChangePage(List.of(), ChangeFeedToken.encodeAll(positions), false);
+        }
+
+        // 3. Sayfadaki ekspertizlerin cevap/fotoğrafları shard başına tek sorguda gelir
+        QuestionCatalog.Snapshot catalog = questionCatalog.current();
+        Map<UUID, List<ExpertiseHistoryPage.AnswerItem>> answersByExpertise = new HashMap<>();
+        shardRouting.scatter(pageByShard.keySet(), shard -> HistoryAnswers.byExpertise(
+                        answerRepository.findRowsByExpertiseIdIn(pageByShard.get(shard).stream().map(Expertise::getId).toList()),
+                        catalog))
+                .values().forEach(answersByExpertise::putAll);
+
+        // 4. Sayfa ve sonraki token oluştur; yalnızca sayfaya giren shard'ların konumu ilerler
+        List<ExpertiseChangePage.Entry> items = page.stream()
+                .map(expertise -> new ExpertiseChangePage.Entry(expertise.getId(), expertise.getCarId(), expertise.getCreatedAt(),
+                        answersByExpertise.getOrDefault(expertise.getId(), List.of())))
+                .toList();
+        pageByShard.forEach((shard, taken) -> {
+            Expertise last = taken.get(taken.size() - 1);
+            positions.set(shard, new ChangeFeedToken(last.getChangeTxid(), last.getId()));
+        });
+        return new ExpertiseChangePage(items, ChangeFeedToken.encodeAll(positions), hasMore);
+    }
+
+    private List<Expertise> findChanges(ChangeFeedToken token, List<String> carIds, int limit) {
+        return carIds == null
+                ? expertiseRepository.findChangesAfter(token.txid(), token.id(), limit)
+                : expertiseRepository.findChangesForCarsAfter(carIds, token.txid(), token.id(), limit);
+    }
+}
@@ -0,0 +1,212 @@
+package com.ttexpertise.business.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.ttexpertise.business.service.ExpertiseExportService;
+import com.ttexpertise.model.dto.ExpertiseExportRow;
+import com.ttexpertise.model.dto.ExportFormat;
+import com.ttexpertise.repository.ExpertiseExportRepository;
+import com.ttexpertise.service.ShardRouting;
+import com.ttexpertise.util.Csv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Tarih aralığındaki ekspertizleri satır satır NDJSON veya CSV olarak yazar. Satırlar cursor'dan okundukça
+ * yazılır; bellekte fetch size kadar satır ve yazma tamponu dışında bir şey tutulmaz. Sharding açıkken her shard
+ * kendi cursor'ıyla paralel okunur ve satırlar {@code (created_at, id)} sırasıyla birleştirilir.
+ */
+@Service
+public class ExpertiseExportServiceImpl implements ExpertiseExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpertiseExportServiceImpl.class);
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+    static final String CSV_HEADER = "expertise_id,car_id,created_at,question_id,answered_yes,description,photo_url\n";
+    static final int SHARD_BUFFER_ROWS = 1024;
+    // Tek ekspertizin satırları tek shard'dan ardışık gelir; uuid PostgreSQL'deki gibi işaretsiz karşılaştırılır
+    private static final Comparator<ExpertiseExportRow> EXPORT_ORDER = Comparator
+            .comparing(ExpertiseExportRow::createdAt)
+            .thenComparing(ExpertiseExportRow::expertiseId, (a, b) -> {
+                int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+                return msb != 0 ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            });
+
+    private final ExpertiseExportRepository exportRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter rowWriter;
+    private final ShardRouting shardRouting;
+
+    public ExpertiseExportServiceImpl(ExpertiseExportRepository exportRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      ObjectMapper objectMapper,
+                                      ShardRouting shardRouting) {
+        this.exportRepository = exportRepository;
+        this.shardRouting = shardRouting;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rowWriter = objectMapper.writerFor(ExpertiseExportRow.class).withRootValueSeparator("\n");
+    }
+
+    @Override
+    public long export(Instant from, Instant to, ExportFormat format, OutputStream out) throws IOException {
+        long startedAt = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        long rows;
+        try {
+            rows = switch (format) {
+                case NDJSON -> exportNdjson(from, to, writer);
+                case CSV -> exportCsv(from, to, writer);
+            };
+        } catch (UncheckedIOException e) {
+            // İstemci bağlantıyı kapattıysa cursor ve transaction kapatılmış olarak buraya gelinir
+            throw e.getCause();
+        }
+        writer.flush();
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        log.info("Exported {} rows as {} in {} ms ({} rows/s)", rows, format, elapsedMillis, rows * 1000 / elapsedMillis);
+        return rows;
+    }
+
+    private long exportNdjson(Instant from, Instant to, Writer writer) throws IOException {
+        // SequenceWriter kapatılmaz; kapatmak alttaki response akışını da kapatır
+        SequenceWriter sequence = rowWriter.writeValues(writer);
+        long rows = stream(from, to, row -> {
+            try {
+                sequence.write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        sequence.flush();
+        if (rows > 0) {
+            writer.write('\n');
+        }
+        return rows;
+    }
+
+    private long exportCsv(Instant from, Instant to, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        StringBuilder line = new StringBuilder(256);
+        return stream(from, to, row -> {
+            line.setLength(0);
+            line.append(row.expertiseId()).append(',');
+            Csv.appendField(line, row.carId()).append(',')
+                    .append(row.createdAt()).append(',')
+                    .append(row.questionId() == null ? "" : row.questionId()).append(',')
+                    .append(row.answeredYes() == null ? "" : row.answeredYes()).append(',');
+            Csv.appendField(line, row.description()).append(',');
+            Csv.appendField(line, row.photoUrl()).append('\n');
+            try {
+                writer.append(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private long stream(Instant from, Instant to, Consumer<ExpertiseExportRow> sink) {
+        if (shardRouting.shardCount() == 1) {
+            return streamShard(from, to, sink);
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                return mergeShards(from, to, sink, executor);
+            } finally {
+                // Hata veya istemci kopmasında put'ta bekleyen okuyucular kesilir, cursor'lar kapanır
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private long streamShard(Instant from, Instant to, Consumer<ExpertiseExportRow> sink) {
+        Long rows = readOnlyTransaction.execute(status -> exportRepository.stream(from, to, sink));
+        return rows == null ? 0 : rows;
+    }
+
+    private long mergeShards(Instant from, Instant to, Consumer<ExpertiseExportRow> sink, ExecutorService executor) {
+        // 1. Her shard kendi transaction'ında sıralı okur, satırları sınırlı bir kuyruğa koyar
+        List<BlockingQueue<ShardRow>> queues = new ArrayList<>();
+        for (int shard : shardRouting.allShards()) {
+            BlockingQueue<ShardRow> queue = new ArrayBlockingQueue<>(SHARD_BUFFER_ROWS);
+            queues.add(queue);
+            executor.execute(() -> produce(shard, from, to, queue));
+        }
+
+        // 2. k-yollu birleştirme: her kuyruğun başı heap'te, en küçük satır yazılır ve yerine o kuyruğun sıradakisi gelir
+        PriorityQueue<ShardRow> heads = new PriorityQueue<>(Comparator.comparing(ShardRow::row, EXPORT_ORDER));
+        for (int shard = 0; shard < queues.size(); shard++) {
+            offerNext(heads, queues.get(shard), shard);
+        }
+        long rows = 0;
+        while (!heads.isEmpty()) {
+            ShardRow head = heads.poll();
+            sink.accept(head.row());
+            rows++;
+            offerNext(heads, queues.get(head.shard()), head.shard());
+        }
+        return rows;
+    }
+
+    private void produce(int shard, Instant from, Instant to, BlockingQueue<ShardRow> queue) {
+        ShardRow end = ShardRow.END;
+        try {
+            shardRouting.forShard(shard, () -> streamShard(from, to, row -> put(queue, new ShardRow(shard, row, null))));
+        } catch (RuntimeException e) {
+            end = new ShardRow(shard, null, e);
+        }
+        put(queue, end);
+    }
+
+    private static void offerNext(PriorityQueue<ShardRow> heads, BlockingQueue<ShardRow> queue, int shard) {
+        ShardRow next;
+        try {
+            next = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Shard " + shard + " dışa aktarımı kesildi", e);
+        }
+        if (next.failure() != null) {
+            throw next.failure();
+        }
+        if (next != ShardRow.END) {
+            heads.add(next);
+        }
+    }
+
+    private static void put(BlockingQueue<ShardRow> queue, ShardRow row) {
+        try {
+            queue.put(row);
+        } catch (InterruptedException e) {
+            // Birleştirme bitti veya hata aldı; bu shard'ın okuması durdurulur
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dışa aktarım iptal edildi", e);
+        }
+    }
+
+    private record ShardRow(int shard, ExpertiseExportRow row, RuntimeException failure) {
+        static final ShardRow END = new ShardRow(-1, null, null);
+    }
+}
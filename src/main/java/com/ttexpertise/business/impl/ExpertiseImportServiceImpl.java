@@ -0,0 +1,187 @@
+package com.ttexpertise.business.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ttexpertise.business.service.ExpertiseImportService;
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.model.dto.ImportLineResult;
+import com.ttexpertise.model.dto.ImportSummary;
+import com.ttexpertise.model.event.ExpertiseCreatedEvent;
+import com.ttexpertise.repository.ExpertiseCopyRepository;
+import com.ttexpertise.repository.ExpertiseLatestRepository;
+import com.ttexpertise.service.QuestionCatalog;
+import com.ttexpertise.service.ShardRouting;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * NDJSON gövdesini satır satır okuyup doğrular; geçerli kayıtları sabit boyutlu parçalar halinde,
+ * her parça kendi transaction'ında olacak şekilde COPY ile yazar. Bellekte en fazla bir parça ve
+ * {@code expertise.import.max-line-bytes} uzunluğunda bir satır tutulur; daha uzun satırlar reddedilir. Sharding
+ * açıkken parça araçların shard'larına bölünür ve her bölüm kendi shard'ında ayrı transaction'la yazılır.
+ */
+@Service
+public class ExpertiseImportServiceImpl implements ExpertiseImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpertiseImportServiceImpl.class);
+
+    private final ObjectReader requestReader;
+    private final Validator validator;
+    private final QuestionCatalog questionCatalog;
+    private final ExpertiseCopyRepository copyRepository;
+    private final ExpertiseLatestRepository latestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouting shardRouting;
+    private final int chunkSize;
+    private final int maxLineBytes;
+
+    public ExpertiseImportServiceImpl(ObjectMapper objectMapper,
+                                      Validator validator,
+                                      QuestionCatalog questionCatalog,
+                                      ExpertiseCopyRepository copyRepository,
+                                      ExpertiseLatestRepository latestRepository,
+                                      TransactionTemplate transactionTemplate,
+                                      ApplicationEventPublisher eventPublisher,
+                                      ShardRouting shardRouting,
+                                      @Value("${expertise.import.chunk-size:1000}") int chunkSize,
+                                      @Value("${expertise.import.max-line-bytes:1048576}") int maxLineBytes) {
+        this.requestReader = objectMapper.readerFor(CreateExpertiseRequest.class);
+        this.validator = validator;
+        this.questionCatalog = questionCatalog;
+        this.copyRepository = copyRepository;
+        this.latestRepository = latestRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.shardRouting = shardRouting;
+        this.chunkSize = chunkSize;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    @Override
+    public ImportSummary importNdjson(BufferedReader reader, Consumer<ImportLineResult> results) throws IOException {
+        QuestionCatalog.Snapshot catalog = questionCatalog.current();
+        List<PendingLine> chunk = new ArrayList<>(chunkSize);
+        long lines = 0;
+        long created = 0;
+        long rejected = 0;
+        long failed = 0;
+
+        BoundedLineReader lineReader = new BoundedLineReader(reader, maxLineBytes);
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            lines++;
+            if (lineReader.isTooLong()) {
+                rejected++;
+                results.accept(ImportLineResult.rejected(lines, "Satır " + maxLineBytes + " byte sınırını aşıyor"));
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            // 1. Satırı parse et ve tekli oluşturmayla aynı kurallarla doğrula
+            String error = null;
+            CreateExpertiseRequest request = null;
+            try {
+                request = requestReader.readValue(line);
+                error = validate(request, catalog);
+            } catch (JsonProcessingException e) {
+                error = "Geçersiz JSON: " + e.getOriginalMessage();
+            }
+            if (error != null) {
+                rejected++;
+                results.accept(ImportLineResult.rejected(lines, error));
+                continue;
+            }
+
+            // 2. Parça dolunca tek transaction'da yaz
+            chunk.add(new PendingLine(lines, new ExpertiseCopyRepository.PendingExpertise(UUID.randomUUID(), Instant.now(), request)));
+            if (chunk.size() >= chunkSize) {
+                long written = writeChunk(chunk, results);
+                created += written;
+                failed += chunk.size() - written;
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            long written = writeChunk(chunk, results);
+            created += written;
+            failed += chunk.size() - written;
+        }
+        return new ImportSummary(lines, created, rejected, failed);
+    }
+
+    private String validate(CreateExpertiseRequest request, QuestionCatalog.Snapshot catalog) {
+        Set<ConstraintViolation<CreateExpertiseRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        try {
+            ExpertiseValidation.validateAnswers(request.answers(), catalog);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        } catch (RuntimeException e) {
+            // Beklenmeyen satır hatası akışı kesmez, yalnızca o satır reddedilir
+            log.warn("Import line validation failed unexpectedly", e);
+            return "Geçersiz satır: " + e.getClass().getSimpleName();
+        }
+    }
+
+    private long writeChunk(List<PendingLine> chunk, Consumer<ImportLineResult> results) {
+        // Shard başına bir transaction; bir shard'ın hatası diğerlerinin yazdıklarını geri almaz
+        long created = 0;
+        for (var part : shardRouting.groupByShard(chunk, pending -> pending.expertise().request().carId()).entrySet()) {
+            if (shardRouting.forShard(part.getKey(), () -> writeShardChunk(part.getValue(), results))) {
+                created += part.getValue().size();
+            }
+        }
+        return created;
+    }
+
+    private boolean writeShardChunk(List<PendingLine> chunk, Consumer<ImportLineResult> results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                copyRepository.copy(chunk.stream().map(PendingLine::expertise).toList());
+                // Parçadaki araçların özetleri aynı transaction'da yeniden kurulur
+                latestRepository.refreshForCars(chunk.stream().map(pending -> pending.expertise().request().carId()).distinct().toList());
+                // Commit sonrası read cache ilgili araçlar için temizlenir
+                chunk.forEach(pending -> eventPublisher.publishEvent(
+                        new ExpertiseCreatedEvent(pending.expertise().id(), pending.expertise().request().carId())));
+            });
+        } catch (DataAccessException e) {
+            log.warn("Import chunk of {} lines starting at line {} failed", chunk.size(), chunk.get(0).line(), e);
+            String error = e.getMostSpecificCause().getMessage();
+            chunk.forEach(pending -> results.accept(ImportLineResult.failed(pending.line(), error)));
+            return false;
+        }
+        chunk.forEach(pending -> results.accept(ImportLineResult.created(pending.line(), pending.expertise().id())));
+        return true;
+    }
+
+    private record PendingLine(long line, ExpertiseCopyRepository.PendingExpertise expertise) {
+    }
+}
@@ -1,119 +1,367 @@
 package com.ttexpertise.business.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ttexpertise.business.service.ExpertiseService;
 import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.model.dto.EncodedReadResponse;
+import com.ttexpertise.model.dto.ExpertiseHistoryPage;
+import com.ttexpertise.model.dto.ReadExpertiseDelta;
 import com.ttexpertise.model.dto.ReadExpertiseResponse;
 import com.ttexpertise.model.entity.Answer;
 import com.ttexpertise.model.entity.Expertise;
+import com.ttexpertise.model.entity.ExpertiseLatest;
 import com.ttexpertise.model.entity.Photo;
-import com.ttexpertise.model.entity.Question;
+import com.ttexpertise.model.event.ExpertiseCreatedEvent;
 import com.ttexpertise.repository.AnswerRepository;
+import com.ttexpertise.repository.ExpertiseLatestRepository;
 import com.ttexpertise.repository.ExpertiseRepository;
-import com.ttexpertise.repository.PhotoRepository;
 import com.ttexpertise.repository.QuestionRepository;
+import com.ttexpertise.service.ExpertiseReadCache;
+import com.ttexpertise.service.QuestionCatalog;
+import com.ttexpertise.service.ReadYourWrites;
+import com.ttexpertise.service.ShardRouting;
+import com.ttexpertise.service.StageMetrics;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 public class ExpertiseServiceImpl implements ExpertiseService {
 
+    private static final ReadExpertiseResponse.Previous NO_PREVIOUS =
+            new ReadExpertiseResponse.Previous(false, null, List.of());
+    static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final String READ = "read";
+    private static final String CREATE = "create";
+    private static final String HISTORY = "history";
+
     private final ExpertiseRepository expertiseRepository;
     private final QuestionRepository questionRepository;
+    private final ExpertiseLatestRepository latestRepository;
     private final AnswerRepository answerRepository;
-    private final PhotoRepository photoRepository;
+    private final QuestionCatalog questionCatalog;
+    private final ExpertiseReadCache readCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final StageMetrics stageMetrics;
+    private final ReadYourWrites readYourWrites;
+    private final ShardRouting shardRouting;
 
     public ExpertiseServiceImpl(ExpertiseRepository expertiseRepository,
                                 QuestionRepository questionRepository,
+                                ExpertiseLatestRepository latestRepository,
                                 AnswerRepository answerRepository,
-                                PhotoRepository photoRepository) {
+                                QuestionCatalog questionCatalog,
+                                ExpertiseReadCache readCache,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                StageMetrics stageMetrics,
+                                ReadYourWrites readYourWrites,
+                                ShardRouting shardRouting) {
         this.expertiseRepository = expertiseRepository;
         this.questionRepository = questionRepository;
+        this.latestRepository = latestRepository;
         this.answerRepository = answerRepository;
-        this.photoRepository = photoRepository;
+        this.questionCatalog = questionCatalog;
+        this.readCache = readCache;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.stageMetrics = stageMetrics;
+        this.readYourWrites = readYourWrites;
+        this.shardRouting = shardRouting;
     }
 
     @Override
     public ReadExpertiseResponse readForCar(String carId) {
-        // 1. Tüm aktif soruları getir
-        List<Question> questions = questionRepository.findAllByActiveTrueOrderByIdAsc();
+        return readEncodedForCar(carId).response();
+    }
+
+    @Override
+    public EncodedReadResponse readEncodedForCar(String carId) {
+        return readCache.get(carId, key -> shardRouting.forCar(key, () -> readYourWrites.readFor(key, () -> loadForCar(key))));
+    }
+
+    @Override
+    public Map<String, ReadExpertiseResponse> readForCars(Collection<String> carIds) {
+        Map<String, ReadExpertiseResponse> responses = new LinkedHashMap<>();
+        readCache.getAll(new LinkedHashSet<>(carIds), missing -> readYourWrites.readFor(missing, () -> loadForCars(missing)))
+                .forEach((carId, encoded) -> responses.put(carId, encoded.response()));
+        return responses;
+    }
+
+    private ReadExpertiseResponse loadForCar(String carId) {
+        // 1. Aktif sorular bellekteki katalogdan gelir
+        List<QuestionCatalog.CatalogQuestion> questions = stageMetrics.record(READ, "catalog",
+                () -> questionCatalog.current().activeQuestions());
 
-        // 2. En son ekspertizi bul
-        Optional<Expertise> lastExpertise = expertiseRepository.findTopByCarIdOrderByCreatedAtDesc(carId);
+        // 2. En son ekspertiz özeti tek primary key aramasıyla gelir; jsonb cevap/fotoğraflar burada çözülür
+        ExpertiseLatest latest = stageMetrics.record(READ, "latest_lookup",
+                () -> latestRepository.findById(carId).orElse(null));
 
         // 3. Response oluştur
+        return stageMetrics.record(READ, "mapping", () -> toResponse(carId, latest, questions));
+    }
+
+    private Map<String, ReadExpertiseResponse> loadForCars(Collection<String> carIds) {
+        // Sharding açıkken her shard kendi araçlarını paralel okur
+        Map<Integer, List<String>> carIdsByShard = shardRouting.groupByShard(carIds, Function.identity());
+        Map<String, ReadExpertiseResponse> responses = new HashMap<>();
+        shardRouting.scatter(carIdsByShard.keySet(), shard -> loadShardForCars(carIdsByShard.get(shard)))
+                .values().forEach(responses::putAll);
+        return responses;
+    }
+
+    private Map<String, ReadExpertiseResponse> loadShardForCars(Collection<String> carIds) {
+        // 1. Aktif sorular bellekteki katalogdan gelir
+        List<QuestionCatalog.CatalogQuestion> questions = stageMetrics.record(READ, "catalog",
+                () -> questionCatalog.current().activeQuestions());
+
+        // 2. Tüm araçların özetleri tek primary key IN sorgusuyla gelir
+        Map<String, ExpertiseLatest> latestByCar = new HashMap<>();
+        stageMetrics.record(READ, "latest_lookup", () -> {
+            for (ExpertiseLatest latest : latestRepository.findAllById(carIds)) {
+                latestByCar.put(latest.getCarId(), latest);
+            }
+        });
+
+        // 3. Ekspertizi olmayan araçlar da boş cevaplarla döner
+        Map<String, ReadExpertiseResponse> responses = new HashMap<>();
+        stageMetrics.record(READ, "mapping", () -> {
+            for (String carId : carIds) {
+                responses.put(carId, toResponse(carId, latestByCar.get(carId), questions));
+            }
+        });
+        return responses;
+    }
+
+    /**
+     * Katalog sorularını araç özetindeki cevaplarla eşler; özet yoksa tüm sorular boş cevaplı döner.
+     */
+    static ReadExpertiseResponse toResponse(String carId,
+                                            ExpertiseLatest latest,
+                                            List<QuestionCatalog.CatalogQuestion> questions) {
+        return latest == null
+                ? toResponse(carId, null, questions, Map.of())
+                : toResponse(carId, latest.getExpertiseId(), questions, previousByQuestion(latest));
+    }
+
+    private static ReadExpertiseResponse toResponse(String carId,
+                                                    UUID expertiseId,
+                                                    List<QuestionCatalog.CatalogQuestion> questions,
+                                                    Map<Long, ReadExpertiseResponse.Previous> previousByQuestion) {
         List<ReadExpertiseResponse.QuestionItem> questionItems = questions.stream()
-                .map(question -> {
-                    // Bu soru için önceki cevabı bul
-                    ReadExpertiseResponse.Previous previous = lastExpertise
-                            .flatMap(expertise -> expertise.getAnswers().stream()
-                                    .filter(answer -> answer.getQuestion().getId().equals(question.getId()))
-                                    .findFirst()
-                                    .map(answer -> new ReadExpertiseResponse.Previous(
-                                            answer.isValue(),
-                                            answer.getDescription(),
-                                            answer.getPhotos().stream()
-                                                    .map(Photo::getUrl)
-                                                    .toList()
-                                    )))
-                            .orElse(new ReadExpertiseResponse.Previous(false, null, List.of()));
-
-                    return new ReadExpertiseResponse.QuestionItem(
-                            question.getId(),
-                            question.getText(),
-                            previous
-                    );
-                })
+                .map(question -> new ReadExpertiseResponse.QuestionItem(
+                        question.id(),
+                        question.text(),
+                        previousByQuestion.getOrDefault(question.id(), NO_PREVIOUS)
+                ))
                 .toList();
+        return new ReadExpertiseResponse(carId, expertiseId, questionItems);
+    }
+
+    @Override
+    public ReadExpertiseDelta readDeltaForCar(String carId, UUID knownExpertiseId) {
+        return shardRouting.forCar(carId, () -> readYourWrites.readFor(carId, () -> deltaForCar(carId, knownExpertiseId)));
+    }
+
+    private ReadExpertiseDelta deltaForCar(String carId, UUID knownExpertiseId) {
+        // 1. Güncel cevap cache'ten gelir; istemci zaten son sürümdeyse karşılaştırma yapılmaz
+        ReadExpertiseResponse current = readForCar(carId);
+        List<Long> questionIds = current.items().stream().map(ReadExpertiseResponse.QuestionItem::questionId).toList();
+        if (knownExpertiseId.equals(current.expertiseId())) {
+            return new ReadExpertiseDelta(carId, current.expertiseId(), knownExpertiseId, List.of(), questionIds);
+        }
+
+        // 2. İstemcinin bildiği ekspertiz bu araca ait olmalı; başka aracın ya da bilinmeyen id'nin cevapları
+        // fark tabanı olarak kullanılamaz
+        String knownCarId = expertiseRepository.findCarIdById(knownExpertiseId)
+                .orElseThrow(() -> new IllegalArgumentException("Ekspertiz bulunamadı: " + knownExpertiseId));
+        if (!knownCarId.equals(carId)) {
+            throw new IllegalArgumentException("Ekspertiz " + knownExpertiseId + " " + carId + " aracına ait değil");
+        }
+
+        // 3. İstemcinin bildiği ekspertizin cevapları tek sorguda gelir
+        Map<Long, ReadExpertiseResponse.Previous> knownByQuestion = new HashMap<>();
+        List<ExpertiseHistoryPage.AnswerItem> knownAnswers = HistoryAnswers.byExpertise(
+                answerRepository.findRowsByExpertiseIdIn(List.of(knownExpertiseId)), questionCatalog.current())
+                .getOrDefault(knownExpertiseId, List.of());
+        for (ExpertiseHistoryPage.AnswerItem answer : knownAnswers) {
+            knownByQuestion.put(answer.questionId(), new ReadExpertiseResponse.Previous(
+                    answer.answeredYes(), answer.description(), answer.photoUrls()));
+        }
+
+        // 4. Yalnızca farklı olan sorular döner
+        List<ReadExpertiseResponse.QuestionItem> changed = current.items().stream()
+                .filter(item -> !sameAnswer(item.previous(), knownByQuestion.getOrDefault(item.questionId(), NO_PREVIOUS)))
+                .toList();
+        return new ReadExpertiseDelta(carId, current.expertiseId(), knownExpertiseId, changed, questionIds);
+    }
 
-        return new ReadExpertiseResponse(carId, questionItems);
+    private static boolean sameAnswer(ReadExpertiseResponse.Previous current, ReadExpertiseResponse.Previous known) {
+        // Fotoğraf sırası sorgularda garanti değil; sırasız karşılaştırılır
+        return current.answeredYes() == known.answeredYes()
+                && Objects.equals(current.description(), known.description())
+                && current.photoUrls().size() == known.photoUrls().size()
+                && new HashSet<>(current.photoUrls()).equals(new HashSet<>(known.photoUrls()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ExpertiseHistoryPage history(String carId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit 1 ile " + MAX_HISTORY_PAGE_SIZE + " arasında olmalı");
+        }
+        // Sayfa ve cevaplar aynı bağlantıdan (replika açıksa aynı anlık görüntüden, sharding açıksa aracın shard'ından) okunur
+        return shardRouting.forCar(carId, () -> readYourWrites.readFor(carId, () -> historyPage(carId, cursor, limit)));
+    }
+
+    private ExpertiseHistoryPage historyPage(String carId, String cursor, int limit) {
+
+        // 1. Keyset: cursor'dan sonraki limit+1 ekspertiz; fazladan gelen satır sonraki sayfa olduğunu gösterir
+        HistoryCursor after = cursor == null || cursor.isBlank() ? null : HistoryCursor.decode(cursor);
+        List<Expertise> expertises = stageMetrics.record(HISTORY, "history_page", () -> after == null
+                ? expertiseRepository.findByCarIdOrderByCreatedAtDescIdDesc(carId, Limit.of(limit + 1))
+                : findHistoryPageBefore(carId, after, limit + 1));
+        boolean hasMore = expertises.size() > limit;
+        List<Expertise> page = hasMore ? expertises.subList(0, limit) : expertises;
+        if (page.isEmpty()) {
+            return new ExpertiseHistoryPage(carId, List.of(), null);
+        }
+
+        // 2. Sayfadaki tüm ekspertizlerin cevap/fotoğrafları tek sorguda gelir
+        Map<UUID, List<ExpertiseHistoryPage.AnswerItem>> answersByExpertise = stageMetrics.record(HISTORY,
+                "answer_hydration", () -> HistoryAnswers.byExpertise(
+                        answerRepository.findRowsByExpertiseIdIn(page.stream().map(Expertise::getId).toList()),
+                        questionCatalog.current()));
+
+        // 3. Sayfa ve sonraki cursor oluştur
+        List<ExpertiseHistoryPage.Entry> items = stageMetrics.record(HISTORY, "mapping", () -> page.stream()
+                .map(expertise -> new ExpertiseHistoryPage.Entry(expertise.getId(), expertise.getCreatedAt(),
+                        answersByExpertise.getOrDefault(expertise.getId(), List.of())))
+                .toList());
+        Expertise last = page.get(page.size() - 1);
+        String nextCursor = hasMore ? new HistoryCursor(last.getCreatedAt(), last.getId()).encode() : null;
+        return new ExpertiseHistoryPage(carId, items, nextCursor);
+    }
+
+    private List<Expertise> findHistoryPageBefore(String carId, HistoryCursor cursor, int limit) {
+        return expertiseRepository.findHistoryPageBefore(carId, cursor.createdAt(), cursor.id(), Limit.of(limit));
     }
 
     @Override
     @Transactional
     public UUID create(CreateExpertiseRequest request) {
-        // 1. Validation: "Evet, var" seçilince fotoğraf zorunlu
-        validateAnswers(request.answers());
+        // Fiziksel bağlantı ilk sorguda alınır; transaction aracın shard'ında açılmış olur
+        return shardRouting.forCar(request.carId(), () -> persist(request));
+    }
+
+    private UUID persist(CreateExpertiseRequest request) {
+        // 1. Validation: "Evet, var" seçilince fotoğraf zorunlu, sorular katalogda olmalı
+        stageMetrics.record(CREATE, "validation",
+                () -> ExpertiseValidation.validateAnswers(request.answers(), questionCatalog.current()));
+        recordCommitStage();
+
+        // 2. Expertise -> Answer -> Photo aggregate'ı bellekte kurulur
+        Expertise aggregate = stageMetrics.record(CREATE, "mapping", () -> toAggregate(request));
+
+        // 3. Tek save; answer/photo'lar cascade ile persist edilir, flush'ta tablo başına batch INSERT olarak gider
+        Expertise expertise = stageMetrics.record(CREATE, "persist", () -> expertiseRepository.save(aggregate));
+        stageMetrics.record(CREATE, "insert", expertiseRepository::flush);
+
+        // 4. Araç özeti aynı transaction'da güncellenir
+        String answersJson = answersJson(request);
+        stageMetrics.record(CREATE, "latest_upsert", () -> latestRepository.upsert(
+                request.carId(), expertise.getId(), expertise.getCreatedAt(), answersJson));
 
-        // 2. Expertise oluştur
+        // 5. Commit sonrası read cache bu carId için temizlenir
+        eventPublisher.publishEvent(new ExpertiseCreatedEvent(expertise.getId(), request.carId()));
+
+        return expertise.getId();
+    }
+
+    private Expertise toAggregate(CreateExpertiseRequest request) {
         Expertise expertise = new Expertise();
         expertise.setCarId(request.carId());
-        expertise = expertiseRepository.save(expertise);
-
-        // 3. Her answer için Answer + Photo'ları kaydet
         for (CreateExpertiseRequest.AnswerPayload answerPayload : request.answers()) {
-            // Answer oluştur
+            // Soru FK'sı için SELECT atmayan bir referans kullanılır
             Answer answer = new Answer();
             answer.setExpertise(expertise);
-            answer.setQuestion(questionRepository.findById(answerPayload.questionId())
-                    .orElseThrow(() -> new IllegalArgumentException("Question not found: " + answerPayload.questionId())));
+            answer.setQuestion(questionRepository.getReferenceById(answerPayload.questionId()));
             answer.setValue(answerPayload.value());
             answer.setDescription(answerPayload.description());
-            answer = answerRepository.save(answer);
+            expertise.getAnswers().add(answer);
 
-            // Photo'ları kaydet
+            if (answerPayload.photoUrls() == null) {
+                continue;
+            }
             for (String photoUrl : answerPayload.photoUrls()) {
                 Photo photo = new Photo();
                 photo.setAnswer(answer);
                 photo.setUrl(photoUrl);
-                photoRepository.save(photo);
+                answer.getPhotos().add(photo);
             }
         }
-
-        return expertise.getId();
+        return expertise;
     }
 
-    private void validateAnswers(List<CreateExpertiseRequest.AnswerPayload> answers) {
-        for (CreateExpertiseRequest.AnswerPayload answer : answers) {
-            if (answer.value() && (answer.photoUrls() == null || answer.photoUrls().isEmpty())) {
-                throw new IllegalArgumentException("Evet seçilince en az 1 fotoğraf gerekli");
+    private void recordCommitStage() {
+        // Commit süresi beforeCommit ile afterCompletion arasıdır; transaction dışında (unit test) ölçülmez
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private StageMetrics.Span span;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                span = stageMetrics.start(CREATE, "commit");
             }
-            if (answer.value() && answer.photoUrls().size() > 3) {
-                throw new IllegalArgumentException("En fazla 3 fotoğraf yüklenebilir");
+
+            @Override
+            public void afterCompletion(int status) {
+                if (span != null) {
+                    span.end();
+                }
             }
+        });
+    }
+
+    private String answersJson(CreateExpertiseRequest request) {
+        List<ExpertiseLatest.AnswerSnapshot> answers = request.answers().stream()
+                .map(answer -> new ExpertiseLatest.AnswerSnapshot(
+                        answer.questionId(),
+                        answer.value(),
+                        answer.description(),
+                        answer.photoUrls() == null ? List.of() : answer.photoUrls()))
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(answers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Expertise snapshot could not be serialized", e);
+        }
+    }
+
+    private static Map<Long, ReadExpertiseResponse.Previous> previousByQuestion(ExpertiseLatest latest) {
+        Map<Long, ReadExpertiseResponse.Previous> previousByQuestion = new HashMap<>();
+        for (ExpertiseLatest.AnswerSnapshot answer : latest.getAnswers()) {
+            previousByQuestion.put(answer.questionId(), new ReadExpertiseResponse.Previous(
+                    answer.answeredYes(), answer.description(), answer.photoUrls()));
         }
+        return previousByQuestion;
     }
 }
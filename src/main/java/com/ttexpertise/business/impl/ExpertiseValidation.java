@@ -0,0 +1,35 @@
+package com.ttexpertise.business.impl;
+
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.service.QuestionCatalog;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tekli oluşturma ve toplu içe aktarmanın paylaştığı iş kuralları.
+ */
+public final class ExpertiseValidation {
+
+    private ExpertiseValidation() {
+    }
+
+    public static void validateAnswers(List<CreateExpertiseRequest.AnswerPayload> answers, QuestionCatalog.Snapshot catalog) {
+        Set<Long> answeredQuestions = new HashSet<>();
+        for (CreateExpertiseRequest.AnswerPayload answer : answers) {
+            if (answer.value() && (answer.photoUrls() == null || answer.photoUrls().isEmpty())) {
+                throw new IllegalArgumentException("Evet seçilince en az 1 fotoğraf gerekli");
+            }
+            if (answer.value() && answer.photoUrls().size() > 3) {
+                throw new IllegalArgumentException("En fazla 3 fotoğraf yüklenebilir");
+            }
+            if (!catalog.contains(answer.questionId())) {
+                throw new IllegalArgumentException("Question not found: " + answer.questionId());
+            }
+            if (!answeredQuestions.add(answer.questionId())) {
+                throw new IllegalArgumentException("Aynı soru birden fazla cevaplanamaz: " + answer.questionId());
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ttexpertise.business.impl;
+
+import com.ttexpertise.model.dto.ExpertiseHistoryPage;
+import com.ttexpertise.model.projection.HistoryAnswerRow;
+import com.ttexpertise.service.QuestionCatalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tek sorguda gelen cevap/fotoğraf satırlarını ekspertiz başına cevap listesine çevirir.
+ */
+final class HistoryAnswers {
+
+    private HistoryAnswers() {
+    }
+
+    static Map<UUID, List<ExpertiseHistoryPage.AnswerItem>> byExpertise(List<HistoryAnswerRow> rows, QuestionCatalog.Snapshot catalog) {
+        // Satırlar (expertise_id, question_id) sıralı gelir; fotoğraf başına bir satır vardır
+        Map<UUID, Map<Long, ExpertiseHistoryPage.AnswerItem>> answersByExpertise = new HashMap<>();
+        for (HistoryAnswerRow row : rows) {
+            ExpertiseHistoryPage.AnswerItem answer = answersByExpertise
+                    .computeIfAbsent(row.getExpertiseId(), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(row.getQuestionId(), questionId -> new ExpertiseHistoryPage.AnswerItem(
+                            questionId, catalog.text(questionId), row.getAnsweredYes(), row.getDescription(), new ArrayList<>()));
+            if (row.getPhotoUrl() != null) {
+                answer.photoUrls().add(row.getPhotoUrl());
+            }
+        }
+        Map<UUID, List<ExpertiseHistoryPage.AnswerItem>> result = new HashMap<>();
+        answersByExpertise.forEach((expertiseId, answers) -> result.put(expertiseId, List.copyOf(answers.values())));
+        return result;
+    }
+}
@@ -0,0 +1,9 @@
+package com.ttexpertise.business.service;
+
+import com.ttexpertise.model.dto.ExpertiseChangePage;
+
+import java.util.Collection;
+
+public interface ExpertiseChangeFeedService {
+    ExpertiseChangePage changesSince(String since, Collection<String> carIds, int limit);
+}
@@ -0,0 +1,11 @@
+package com.ttexpertise.business.service;
+
+import com.ttexpertise.model.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+public interface ExpertiseExportService {
+    long export(Instant from, Instant to, ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,12 @@
+package com.ttexpertise.business.service;
+
+import com.ttexpertise.model.dto.ImportLineResult;
+import com.ttexpertise.model.dto.ImportSummary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+public interface ExpertiseImportService {
+    ImportSummary importNdjson(BufferedReader reader, Consumer<ImportLineResult> results) throws IOException;
+}
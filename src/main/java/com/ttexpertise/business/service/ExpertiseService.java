@@ -1,11 +1,20 @@
 package com.ttexpertise.business.service;
 
 import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.model.dto.EncodedReadResponse;
+import com.ttexpertise.model.dto.ExpertiseHistoryPage;
+import com.ttexpertise.model.dto.ReadExpertiseDelta;
 import com.ttexpertise.model.dto.ReadExpertiseResponse;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 public interface ExpertiseService {
     ReadExpertiseResponse readForCar(String carId);
+    EncodedReadResponse readEncodedForCar(String carId);
+    Map<String, ReadExpertiseResponse> readForCars(Collection<String> carIds);
+    ReadExpertiseDelta readDeltaForCar(String carId, UUID knownExpertiseId);
+    ExpertiseHistoryPage history(String carId, String cursor, int limit);
     UUID create(CreateExpertiseRequest request);
 }
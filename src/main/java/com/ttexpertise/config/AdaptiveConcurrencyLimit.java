@@ -0,0 +1,107 @@
+package com.ttexpertise.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gecikmeye göre kendini ayarlayan eşzamanlılık sınırı (Netflix Gradient2 benzeri). Uzun dönem gecikme
+ * ortalamasının kısa dönem ortalamaya oranı (gradyan) sınırı küçültür, kararlı durumda sınır √limit kadar
+ * büyür; hata/zaman aşımı görülünce sınır çarpımsal olarak düşer (AIMD).
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    // Aşağıdakiler yalnızca this kilidi altında değişir
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double rttTolerance) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("1 <= min-limit <= initial-limit <= max-limit olmalı");
+        }
+        if (rttTolerance < 1) {
+            throw new IllegalArgumentException("rtt-tolerance 1'den küçük olamaz");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Sınırın altındaysa bir yer ayırır; ayrılan her yer {@link #release} ile bırakılmalıdır.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Yeri bırakır ve isteğin süresini örnek olarak işler. {@code dropped} sunucu hatası veya zaman aşımıdır.
+     */
+    void release(long rttNanos, boolean dropped) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        synchronized (this) {
+            estimatedLimit = dropped ? backOff() : adjust(rttNanos, inFlightAtEnd);
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private double backOff() {
+        return Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+    }
+
+    private double adjust(long rttNanos, int inFlightAtEnd) {
+        // 1. Kısa ve uzun dönem gecikme ortalamaları; ilk örnek ikisini de başlatır
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+        } else {
+            shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+            longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+        }
+
+        // 2. Yavaşlama geçtikten sonra uzun ortalama yüksekte kalıp sınırı şişirmesin
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // 3. Sınırın yarısı bile kullanılmıyorsa gecikme yükten değildir; sınır büyütülmez
+        if (inFlightAtEnd < estimatedLimit / 2) {
+            return estimatedLimit;
+        }
+
+        // 4. Gradyan: gecikme toleransı aşınca sınır orantılı küçülür, aksi hâlde √limit kadar kuyruk payı eklenir
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        return Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,45 @@
+package com.ttexpertise.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Ekspertiz API'sinin önüne okuma ve yazma için ayrı uyarlanabilir eşzamanlılık sınırı koyar
+ * ({@code expertise.limiter.read.*}, {@code expertise.limiter.write.*}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "expertise.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(Environment environment, MeterRegistry meterRegistry) {
+        double rttTolerance = environment.getProperty("expertise.limiter.rtt-tolerance", Double.class, 1.5);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                limit(environment, "read", 50, 10, 200, rttTolerance),
+                limit(environment, "write", 20, 4, 100, rttTolerance),
+                meterRegistry,
+                environment.getProperty("expertise.limiter.retry-after", Duration.class, Duration.ofSeconds(1)));
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/v1/expertises/*");
+        // Gözlem filtresinden sonra (503'ler http.server.requests'te görünsün), gövde açma ve MVC'den önce
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimit limit(Environment environment, String kind, int initial, int min, int max,
+                                                  double rttTolerance) {
+        String prefix = "expertise.limiter." + kind + ".";
+        return new AdaptiveConcurrencyLimit(
+                environment.getProperty(prefix + "initial-limit", Integer.class, initial),
+                environment.getProperty(prefix + "min-limit", Integer.class, min),
+                environment.getProperty(prefix + "max-limit", Integer.class, max),
+                rttTolerance);
+    }
+}
@@ -0,0 +1,119 @@
+package com.ttexpertise.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Ekspertiz okuma ve oluşturma endpoint'lerinin önündeki yük atma filtresi. Okuma ve yazma ayrı
+ * {@link AdaptiveConcurrencyLimit}'e tabidir; sınırı aşan istek Tomcat kuyruğunda beklemek yerine hemen
+ * 503 ve {@code Retry-After} alır. Toplu içe aktarma akışı uzun sürdüğünden sınırın dışındadır.
+ */
+class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String BASE_PATH = "/api/v1/expertises";
+    private static final byte[] REJECTED_BODY = ("{\"type\":\"about:blank\",\"title\":\"Service Unavailable\",\"status\":503,"
+            + "\"detail\":\"Sunucu yoğun, lütfen Retry-After süresi sonunda tekrar deneyin\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final Limited read;
+    private final Limited write;
+    private final String retryAfterSeconds;
+
+    ConcurrencyLimitFilter(AdaptiveConcurrencyLimit readLimit, AdaptiveConcurrencyLimit writeLimit,
+                           MeterRegistry meterRegistry, Duration retryAfter) {
+        this.read = new Limited("read", readLimit, meterRegistry);
+        this.write = new Limited("write", writeLimit, meterRegistry);
+        this.retryAfterSeconds = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Limited limited = classify(request);
+        if (!limited.limit.tryAcquire()) {
+            limited.rejected.increment();
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limited.limit.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private Limited classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(BASE_PATH)) {
+            return null;
+        }
+        String rest = path.substring(BASE_PATH.length());
+        if (!rest.isEmpty() && rest.charAt(0) != '/') {
+            return null;
+        }
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) && rest.length() > 1) {
+            return read;
+        }
+        if (HttpMethod.POST.matches(method)) {
+            if (rest.equals("/batch-read")) {
+                return read;
+            }
+            if (rest.isEmpty() || rest.equals("/")) {
+                return write;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(REJECTED_BODY.length);
+        response.getOutputStream().write(REJECTED_BODY);
+    }
+
+    private static final class Limited {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final Counter rejected;
+
+        Limited(String kind, AdaptiveConcurrencyLimit limit, MeterRegistry meterRegistry) {
+            this.limit = limit;
+            this.rejected = Counter.builder("expertise.limiter.rejected")
+                    .description("Requests rejected by the adaptive concurrency limit")
+                    .tag("kind", kind)
+                    .register(meterRegistry);
+            Gauge.builder("expertise.limiter.limit", limit, AdaptiveConcurrencyLimit::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("kind", kind)
+                    .register(meterRegistry);
+            Gauge.builder("expertise.limiter.in.flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                    .description("Requests currently holding a concurrency slot")
+                    .tag("kind", kind)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.ttexpertise.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * {@code Content-Encoding: gzip} ile gelen istek gövdelerini açar; controller'lar düz gövde görür.
+ * Açılmış boyut sınırlıdır (sıkıştırma bombası). NDJSON içe aktarma satır satır okunduğundan sınır gövdenin
+ * tamamına değil her satıra uygulanır: büyük bir dosya geçer, satır sonu olmayan tek bir dev satır geçemez.
+ */
+@Component
+public class GzipRequestBodyFilter extends OncePerRequestFilter {
+
+    private final long maxInflatedBytes;
+
+    public GzipRequestBodyFilter(@Value("${expertise.request.gzip-max-inflated-bytes:16777216}") long maxInflatedBytes) {
+        this.maxInflatedBytes = maxInflatedBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String contentType = request.getContentType();
+        boolean streamed = contentType != null
+                && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        filterChain.doFilter(new InflatedRequest(request, maxInflatedBytes, streamed), response);
+    }
+
+    private static final class InflatedRequest extends HttpServletRequestWrapper {
+
+        private final long limit;
+        private final boolean perLine;
+        private ServletInputStream inputStream;
+
+        InflatedRequest(HttpServletRequest request, long limit, boolean perLine) {
+            super(request);
+            this.limit = limit;
+            this.perLine = perLine;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new InflatingInputStream(new GZIPInputStream(super.getInputStream()), limit, perLine);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isHidden(name))
+                    .toList());
+        }
+
+        private static boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    private static final class InflatingInputStream extends ServletInputStream {
+
+        private final InputStream inflater;
+        private final long limit;
+        private final boolean perLine;
+        // Satır modunda son '\n'den bu yana, değilse gövde başından beri açılan byte
+        private long read;
+        private boolean finished;
+
+        InflatingInputStream(InputStream inflater, long limit, boolean perLine) {
+            this.inflater = inflater;
+            this.limit = limit;
+            this.perLine = perLine;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = inflater.read();
+            if (b < 0) {
+                finished = true;
+            } else if (perLine && b == '\n') {
+                read = 0;
+            } else {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = inflater.read(buffer, offset, length);
+            if (n < 0) {
+                finished = true;
+            } else if (perLine) {
+                for (int i = offset; i < offset + n; i++) {
+                    if (buffer[i] == '\n') {
+                        read = 0;
+                    } else {
+                        count(1);
+                    }
+                }
+            } else {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            read += n;
+            if (read > limit) {
+                throw new IOException(perLine
+                        ? "Açılmış istek gövdesindeki bir satır " + limit + " byte sınırını aştı"
+                        : "Açılmış istek gövdesi " + limit + " byte sınırını aştı");
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflater.close();
+        }
+    }
+}
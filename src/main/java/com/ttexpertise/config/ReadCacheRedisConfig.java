@@ -0,0 +1,36 @@
+package com.ttexpertise.config;
+
+import com.ttexpertise.service.ExpertiseReadCache;
+import com.ttexpertise.service.ReadYourWrites;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis L2 açıkken diğer node'lardan gelen read cache silme mesajlarını dinler; mesajdaki araç
+ * "kendi yazdığını oku" penceresine de alınır.
+ */
+@Configuration
+@ConditionalOnProperty(name = "expertise.cache.redis.enabled", havingValue = "true")
+public class ReadCacheRedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer readCacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                       ExpertiseReadCache readCache,
+                                                                       ReadYourWrites readYourWrites) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String carId = new String(message.getBody(), StandardCharsets.UTF_8);
+            // Başka node'da yazılan araç bu node'da da replika yerine primary'den okunur
+            readYourWrites.markWritten(carId);
+            readCache.evictLocal(carId);
+        }, new ChannelTopic(ExpertiseReadCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
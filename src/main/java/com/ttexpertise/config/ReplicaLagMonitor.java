@@ -0,0 +1,73 @@
+package com.ttexpertise.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replikanın primary'nin ne kadar gerisinde olduğunu periyodik olarak ölçer. Gecikme {@code max-lag}'i aşarsa
+ * veya replikaya ulaşılamazsa salt okunur bağlantılar da primary'ye gider; ilk başarılı ölçüme kadar replika
+ * kullanılmaz.
+ */
+class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Replika tüm WAL'ı uygulamışsa gecikme 0'dır; aksi hâlde son uygulanan commit'in yaşıdır
+    private static final String LAG_SQL = """
+            SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double maxLagSeconds;
+
+    private volatile boolean healthy;
+    private volatile double lagSeconds = Double.NaN;
+
+    ReplicaLagMonitor(DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, maxLag.toSeconds()));
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        Gauge.builder("db.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replica replay lag behind the primary")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.healthy", this, monitor -> monitor.healthy ? 1 : 0)
+                .description("1 while read-only transactions may use the replica")
+                .register(meterRegistry);
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    @Scheduled(fixedDelayString = "${expertise.replica.lag-check-interval:PT1S}")
+    void check() {
+        boolean wasHealthy = healthy;
+        try {
+            Double lag = jdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            lagSeconds = lag == null ? 0 : lag;
+            healthy = lagSeconds <= maxLagSeconds;
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            healthy = false;
+            if (wasHealthy) {
+                log.warn("Replica unreachable, routing reads to primary", e);
+            }
+            return;
+        }
+        if (wasHealthy != healthy) {
+            log.warn(healthy ? "Replica lag {}s within limit, routing reads to replica"
+                    : "Replica lag {}s over limit, routing reads to primary", lagSeconds);
+        }
+    }
+}
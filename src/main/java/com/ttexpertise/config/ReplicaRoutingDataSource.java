@@ -0,0 +1,49 @@
+package com.ttexpertise.config;
+
+import com.ttexpertise.service.ReadYourWrites;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Salt okunur bağlantıların kaynağı: replika sağlıklıysa replika, gecikme eşiği aşılmışsa veya okuma
+ * {@link ReadYourWrites} gereği primary'de yapılmalıysa primary.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryReads = routed(meterRegistry, "primary");
+        this.replicaReads = routed(meterRegistry, "replica");
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (ReadYourWrites.isPrimaryRequired() || !lagMonitor.isHealthy()) {
+            primaryReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        ReadYourWrites.markReplicaRead();
+        return Target.REPLICA;
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("db.replica.routed")
+                .description("Read-only connections by chosen database")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ttexpertise.config;
+
+import com.ttexpertise.service.ShardRouting;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bağlantıyı {@link ShardRouting#currentShard()}'ın gösterdiği shard havuzundan alır. Shard seçilmemişse
+ * (soru kataloğu gibi araçtan bağımsız okumalar) ilk shard kullanılır; referans tablolar her shard'da aynıdır.
+ */
+class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    ShardRoutingDataSource(List<? extends DataSource> shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardRouting.currentShard();
+    }
+}
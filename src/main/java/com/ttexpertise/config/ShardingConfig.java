@@ -0,0 +1,100 @@
+package com.ttexpertise.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code expertise.sharding.enabled=true} iken veri carId'ye göre {@code expertise.sharding.urls}'teki PostgreSQL
+ * veritabanlarına dağıtılır. Her shard'ın kendi Hikari havuzu vardır ({@code spring.datasource.hikari} ayarlarıyla);
+ * uygulamanın gördüğü DataSource fiziksel bağlantıyı ilk sorguda, o anki shard'dan alır. Flyway her shard'da çalışır.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "expertise.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(@Value("${expertise.sharding.urls}") List<String> urls,
+                                             DataSourceProperties properties,
+                                             Environment environment,
+                                             MeterRegistry meterRegistry) {
+        if (environment.getProperty("expertise.replica.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("expertise.sharding.enabled ve expertise.replica.enabled birlikte kullanılamaz");
+        }
+        // Sanal thread modunda her shard havuzu kendi semaphore'uyla sınırlanır
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        int maxConcurrency = environment.getProperty("expertise.db.max-concurrency", Integer.class, 10);
+        Duration acquireTimeout = environment.getProperty("expertise.db.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+
+        List<HikariDataSource> pools = new ArrayList<>();
+        List<DataSource> shards = new ArrayList<>();
+        for (int shard = 0; shard < urls.size(); shard++) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(shard).trim())
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("shard-" + shard);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+            shards.add(virtualThreads ? new ConcurrencyLimitedDataSource(pool, maxConcurrency, acquireTimeout) : pool);
+        }
+        return new ShardDataSources(pools, shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardDataSources.shards()));
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigrationStrategy(ShardDataSources shardDataSources) {
+        // Otomatik yapılandırılmış Flyway'in ayarlarıyla her shard ayrı ayrı migrate edilir
+        return flyway -> {
+            for (DataSource shard : shardDataSources.shards()) {
+                shardConfiguration(flyway, shard).load().migrate();
+            }
+        };
+    }
+
+    /**
+     * Shard için Flyway ayarları. Kopya {@code spring.flyway.postgresql.transactional-lock} gibi eklenti ayarlarını
+     * da taşır; kilit transaction dışında tutulmazsa {@code CREATE INDEX CONCURRENTLY} advisory lock'u bekler.
+     */
+    static FluentConfiguration shardConfiguration(Flyway flyway, DataSource shard) {
+        return Flyway.configure().configuration(flyway.getConfiguration()).dataSource(shard);
+    }
+
+    /**
+     * Shard havuzları; indeks {@link com.ttexpertise.service.ShardRouting#shardOf(String)} ile aynıdır.
+     */
+    public record ShardDataSources(List<HikariDataSource> pools, List<DataSource> shards) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            pools.forEach(HikariDataSource::close);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.ttexpertise.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hibernate'in hazırladığı her SQL'i ve yüklediği her entity'yi, thread'de açık bir {@link Scope} varsa sayar.
+ * Batch'lenen insert'ler tek statement sayılır. Hibernate dışındaki JDBC erişimi (COPY, dışa aktarma) sayılmaz.
+ * İstek başına kapsamı {@link SqlStatementMetricsInterceptor} açar; testler doğrudan {@link #open()} kullanabilir.
+ * Kapsam thread'e bağlıdır: başka thread'e devredilen iş ancak {@link #propagate(Callable)} ile sarılırsa sayılır
+ * (shard'lara paralel dağıtılan sorgular böyle taşınır).
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements.increment();
+        }
+        return sql;
+    }
+
+    static void entityLoaded() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.entityLoads.increment();
+        }
+    }
+
+    /**
+     * Bu thread için yeni sayım başlatır; kapatınca önceki kapsam geri gelir.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Çağıran thread'in kapsamını başka thread'de çalışacak işe taşır; iş, sayımlarını aynı kapsama ekler.
+     * Çağıranda kapsam yoksa iş olduğu gibi döner.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            Scope previous = CURRENT.get();
+            CURRENT.set(scope);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        // Aynı kapsam paralel işlerden birlikte artırılabilir
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public long statements() {
+            return statements.sum();
+        }
+
+        public long entityLoads() {
+            return entityLoads.sum();
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                parent.statements.add(statements.sum());
+                parent.entityLoads.add(entityLoads.sum());
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
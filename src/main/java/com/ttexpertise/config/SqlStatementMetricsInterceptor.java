@@ -0,0 +1,72 @@
+package com.ttexpertise.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * İstek başına SQL statement ve entity yükleme sayılarını endpoint (method + URI kalıbı) bazında histogram olarak
+ * yayınlar; eşiği aşan istekleri loglar. N+1 gerilemeleri {@code /actuator/prometheus} üzerinden görünür.
+ */
+class SqlStatementMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementMetricsInterceptor.class);
+    private static final String SCOPE_ATTRIBUTE = SqlStatementMetricsInterceptor.class.getName() + ".scope";
+
+    private final MeterRegistry meterRegistry;
+    private final long warnThreshold;
+
+    SqlStatementMetricsInterceptor(MeterRegistry meterRegistry, long warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(SCOPE_ATTRIBUTE, SqlStatementCounter.open());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async istekte gövde başka thread'de yazılır; bu thread'in kapsamı kaydedilmeden kapatılır
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof SqlStatementCounter.Scope scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            scope.close();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(SCOPE_ATTRIBUTE) instanceof SqlStatementCounter.Scope scope)) {
+            return;
+        }
+        request.removeAttribute(SCOPE_ATTRIBUTE);
+        scope.close();
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        summary("sql.statements.per.request", "Hibernate SQL statements per HTTP request", request.getMethod(), uri)
+                .record(scope.statements());
+        summary("sql.entity.loads.per.request", "Hibernate entity loads per HTTP request", request.getMethod(), uri)
+                .record(scope.entityLoads());
+        if (scope.statements() > warnThreshold) {
+            log.warn("{} {} executed {} SQL statements and loaded {} entities (threshold {})",
+                    request.getMethod(), uri, scope.statements(), scope.entityLoads(), warnThreshold);
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ttexpertise.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code spring.threads.virtual.enabled=true} iken Tomcat istekleri, MVC async işleri ve zamanlanmış görevler
+ * sanal thread'lerde çalışır (Spring Boot). Bu modda DataSource {@link ConcurrencyLimitedDataSource} ile sarılır;
+ * böylece bağlantı havuzuna aynı anda en fazla {@code expertise.db.max-concurrency} istek gider.
+ * {@code db.concurrency.*} metrikleri her sınırlı havuz için {@code pool} etiketiyle ayrı yayınlanır.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        int maxConcurrency = environment.getProperty("expertise.db.max-concurrency", Integer.class, 10);
+        Duration acquireTimeout = environment.getProperty("expertise.db.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Sarmalayıcılar (ör. replika yönlendirmesi) atlanır; hedef havuzları ayrı ayrı sınırlanır
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dbConcurrencyMetrics(Map<String, DataSource> dataSources,
+                                            ObjectProvider<ShardingConfig.ShardDataSources> shardDataSources) {
+        // Tek havuz, replika (primary + replica) ve sharding (shard başına) modlarındaki tüm sınırlı havuzlar;
+        // @Primary DataSource yönlendirici olduğundan yalnızca biri görünürdü
+        Map<String, ConcurrencyLimitedDataSource> limited = new LinkedHashMap<>();
+        dataSources.forEach((beanName, dataSource) -> {
+            if (dataSource instanceof ConcurrencyLimitedDataSource limitedDataSource) {
+                limited.put(poolName(limitedDataSource, beanName), limitedDataSource);
+            }
+        });
+        shardDataSources.ifAvailable(shards -> {
+            List<DataSource> shardList = shards.shards();
+            for (int shard = 0; shard < shardList.size(); shard++) {
+                if (shardList.get(shard) instanceof ConcurrencyLimitedDataSource limitedDataSource) {
+                    limited.put(poolName(limitedDataSource, "shard-" + shard), limitedDataSource);
+                }
+            }
+        });
+        return registry -> limited.forEach((pool, dataSource) -> {
+            Gauge.builder("db.concurrency.in.use", dataSource, ConcurrencyLimitedDataSource::inUse)
+                    .description("Semaphore'dan izin almış açık bağlantılar")
+                    .tag("pool", pool)
+                    .register(registry);
+            Gauge.builder("db.concurrency.waiting", dataSource, ConcurrencyLimitedDataSource::waiting)
+                    .description("Bağlantı izni bekleyen thread'ler")
+                    .tag("pool", pool)
+                    .register(registry);
+            Gauge.builder("db.concurrency.max", dataSource, ConcurrencyLimitedDataSource::maxConcurrency)
+                    .tag("pool", pool)
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Hikari havuz adı (ör. {@code primary}, {@code shard-0}); {@code hikaricp.*} metrikleriyle aynı etiket değeri.
+     */
+    private static String poolName(ConcurrencyLimitedDataSource dataSource, String fallback) {
+        if (dataSource.getTargetDataSource() instanceof HikariDataSource hikari && hikari.getPoolName() != null) {
+            return hikari.getPoolName();
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ttexpertise.controller;
+
+import com.ttexpertise.business.service.ExpertiseChangeFeedService;
+import com.ttexpertise.model.dto.ExpertiseChangePage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/expertise-changes")
+@Tag(name = "Expertise Change Feed", description = "Çevrimdışı istemciler için ekspertiz değişiklik akışı")
+public class ExpertiseChangeFeedController {
+
+    private final ExpertiseChangeFeedService changeFeedService;
+
+    public ExpertiseChangeFeedController(ExpertiseChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @Operation(summary = "Değişiklikleri getir",
+            description = "since token'ından sonra oluşturulan ekspertizleri sırayla döner; carIds verilirse yalnızca o araçlar. "
+                    + "İlk senkronizasyonda since gönderilmez, sonraki isteklerde yanıttaki nextSince kullanılır")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Başarılı"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz since, limit veya carIds")
+    })
+    @GetMapping
+    public ExpertiseChangePage changes(@RequestParam(required = false) String since,
+                                       @RequestParam(required = false) List<String> carIds,
+                                       @RequestParam(defaultValue = "100") int limit) {
+        return changeFeedService.changesSince(since, carIds, limit);
+    }
+}
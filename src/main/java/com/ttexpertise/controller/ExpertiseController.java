@@ -1,17 +1,32 @@
 package com.ttexpertise.controller;
 
 import com.ttexpertise.business.service.ExpertiseService;
+import com.ttexpertise.model.dto.BatchReadExpertiseRequest;
 import com.ttexpertise.model.dto.CreateExpertiseRequest;
 import com.ttexpertise.model.dto.CreateExpertiseResponse;
+import com.ttexpertise.model.dto.EncodedReadResponse;
+import com.ttexpertise.model.dto.ExpertiseHistoryPage;
+import com.ttexpertise.model.dto.ReadExpertiseDelta;
 import com.ttexpertise.model.dto.ReadExpertiseResponse;
+import com.ttexpertise.service.IdempotentRequestExecutor;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -19,30 +34,147 @@ import java.util.UUID;
 @Tag(name = "Expertise", description = "Araç ekspertiz yönetimi API'leri")
 public class ExpertiseController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String CREATE_KEY_PREFIX = "expertise:create:";
+
     private final ExpertiseService expertiseService;
+    private final IdempotentRequestExecutor idempotentExecutor;
 
-    public ExpertiseController(ExpertiseService expertiseService) {
+    public ExpertiseController(ExpertiseService expertiseService, IdempotentRequestExecutor idempotentExecutor) {
         this.expertiseService = expertiseService;
+        this.idempotentExecutor = idempotentExecutor;
     }
 
-    @Operation(summary = "Son ekspertizi getir", description = "carId parametresine göre en son ekspertizi döner")
+    @Operation(summary = "Son ekspertizi getir", description = "carId parametresine göre en son ekspertizi döner; "
+            + "ETag ile If-None-Match desteklenir, istemci kabul ediyorsa gövde gzip'li döner. "
+            + "Accept: application/cbor ile ikili (CBOR) gövde istenebilir")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Başarılı"),
+        @ApiResponse(responseCode = "200", description = "Başarılı",
+                content = {
+                    @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = ReadExpertiseResponse.class)),
+                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE, schema = @Schema(implementation = ReadExpertiseResponse.class))
+                }),
+        @ApiResponse(responseCode = "304", description = "Değişmedi"),
         @ApiResponse(responseCode = "404", description = "Bulunamadı")
     })
     @GetMapping("/{carId}")
-    public ReadExpertiseResponse read(@PathVariable String carId) {
-        return expertiseService.readForCar(carId);
+    public ResponseEntity<?> read(@PathVariable String carId,
+                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Cache'teki hazır byte'lar Jackson'a uğramadan yazılır; If-None-Match eşleşirse Spring 304 döner
+        EncodedReadResponse encoded = expertiseService.readEncodedForCar(carId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(encoded.etag())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (prefersCbor(accept)) {
+            // CBOR nadir istenir; cache'lenmez, CBOR converter yanıt nesnesinden yazar
+            return response.contentType(MediaType.APPLICATION_CBOR).body(encoded.response());
+        }
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (encoded.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzip());
+        }
+        return response.body(encoded.json());
     }
 
-    @Operation(summary = "Yeni ekspertiz oluştur", description = "Cevaplar ve fotoğraflarla birlikte yeni bir ekspertiz kaydeder")
+    @Operation(summary = "Son ekspertizin farkını getir", description = "İstemcinin bildiği ekspertiz id'sinden (since) bu yana "
+            + "cevabı, açıklaması veya fotoğrafları değişen soruları ve yeni ekspertiz id'sini döner; değişiklik yoksa 304")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Başarıyla oluşturuldu"),
+        @ApiResponse(responseCode = "200", description = "Başarılı"),
+        @ApiResponse(responseCode = "304", description = "İstemci son ekspertize sahip"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz since")
+    })
+    @GetMapping("/{carId}/delta")
+    public ResponseEntity<ReadExpertiseDelta> readDelta(@PathVariable String carId, @RequestParam UUID since) {
+        ReadExpertiseDelta delta = expertiseService.readDeltaForCar(carId, since);
+        if (delta.unchanged()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(delta);
+    }
+
+    @Operation(summary = "Ekspertiz geçmişini getir", description = "Aracın ekspertizlerini yeniden eskiye sayfalı döner; "
+            + "sonraki sayfa için yanıttaki nextCursor gönderilir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Başarılı"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz cursor veya limit")
+    })
+    @GetMapping("/{carId}/history")
+    public ExpertiseHistoryPage history(@PathVariable String carId,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "20") int limit) {
+        return expertiseService.history(carId, cursor, limit);
+    }
+
+    @Operation(summary = "Çoklu araç için son ekspertizleri getir", description = "Verilen carId listesi için carId -> son ekspertiz map'i döner (en fazla 500 araç)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Başarılı"),
         @ApiResponse(responseCode = "400", description = "Validation hatası")
     })
+    @PostMapping("/batch-read")
+    public Map<String, ReadExpertiseResponse> readBatch(@Valid @RequestBody BatchReadExpertiseRequest req) {
+        return expertiseService.readForCars(req.carIds());
+    }
+
+    @Operation(summary = "Yeni ekspertiz oluştur", description = "Cevaplar ve fotoğraflarla birlikte yeni bir ekspertiz kaydeder; "
+            + "aynı Idempotency-Key ile gelen tekrarlar ilk isteğin sonucunu alır. Gövde JSON veya CBOR "
+            + "(Content-Type: application/cbor) olabilir, Content-Encoding: gzip ile sıkıştırılmış gönderilebilir")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Başarıyla oluşturuldu"),
+        @ApiResponse(responseCode = "400", description = "Validation hatası"),
+        @ApiResponse(responseCode = "409", description = "Aynı Idempotency-Key ile istek hâlâ işleniyor"),
+        @ApiResponse(responseCode = "422", description = "Idempotency-Key farklı gövdeli bir istekle kullanılmış")
+    })
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public CreateExpertiseResponse create(@Valid @RequestBody CreateExpertiseRequest req) {
+    public CreateExpertiseResponse create(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                          @Valid @RequestBody CreateExpertiseRequest req) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return doCreate(req);
+        }
+        return idempotentExecutor.execute(CREATE_KEY_PREFIX + idempotencyKey, req, CreateExpertiseResponse.class,
+                () -> doCreate(req));
+    }
+
+    private static boolean prefersCbor(String accept) {
+        if (accept == null || !accept.contains(MediaType.APPLICATION_CBOR_VALUE)) {
+            return false;
+        }
+        try {
+            // Kalite değerine göre (eşitlikte başlıktaki sırayla) ilk eşleşen tür kazanır; */* JSON demektir
+            List<MediaType> mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+            for (MediaType mediaType : mediaTypes) {
+                if (mediaType.getQualityValue() == 0) {
+                    break;
+                }
+                if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                    return true;
+                }
+                if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                    return false;
+                }
+            }
+            return false;
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private CreateExpertiseResponse doCreate(CreateExpertiseRequest req) {
         UUID id = expertiseService.create(req);
         return new CreateExpertiseResponse(id);
     }
@@ -0,0 +1,51 @@
+package com.ttexpertise.controller;
+
+import com.ttexpertise.business.service.ExpertiseExportService;
+import com.ttexpertise.model.dto.ExportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/v1/expertise-exports")
+@Tag(name = "Expertise Export", description = "Analitik için toplu ekspertiz dışa aktarma API'leri")
+public class ExpertiseExportController {
+
+    private final ExpertiseExportService exportService;
+
+    public ExpertiseExportController(ExpertiseExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Operation(summary = "Ekspertizleri dışa aktar",
+            description = "[from, to) aralığında oluşturulan ekspertizleri fotoğraf başına bir satır olarak "
+                    + "NDJSON veya CSV akışı halinde döner; satırlar veritabanı cursor'ından okundukça yazılır")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Akış başladı"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz aralık veya format")
+    })
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        // Akış başladıktan sonra hata durum koduna yansımaz; parametreler önceden doğrulanır
+        ExportFormat exportFormat = ExportFormat.from(format);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from, to'dan önce olmalı");
+        }
+        StreamingResponseBody body = out -> exportService.export(from, to, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .body(body);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ttexpertise.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ttexpertise.business.service.ExpertiseImportService;
+import com.ttexpertise.model.dto.ImportSummary;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/v1/expertises")
+@Tag(name = "Expertise Import", description = "Toplu ekspertiz içe aktarma API'leri")
+public class ExpertiseImportController {
+
+    private final ExpertiseImportService importService;
+    private final ObjectWriter resultWriter;
+
+    public ExpertiseImportController(ExpertiseImportService importService, ObjectMapper objectMapper) {
+        this.importService = importService;
+        this.resultWriter = objectMapper.writer();
+    }
+
+    @Operation(summary = "Toplu ekspertiz içe aktar",
+            description = "Her satırı bir CreateExpertiseRequest olan NDJSON gövdesini akış halinde işler; "
+                    + "satır başına sonucu ve en sonda özeti NDJSON olarak döner")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "İşlendi; satır sonuçları gövdede")
+    })
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void bulkImport(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            Writer out = response.getWriter();
+            ImportSummary summary = importService.importNdjson(reader, result -> writeLine(out, result));
+            writeLine(out, summary);
+            out.flush();
+        }
+    }
+
+    private void writeLine(Writer out, Object value) {
+        try {
+            out.write(resultWriter.writeValueAsString(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ttexpertise.controller.admin;
+
+import com.ttexpertise.service.ExpertiseLatestBackfill;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Araç başına son ekspertiz özetlerinin backfill durumunu gösterir; {@code backfill} ile yeniden kurar. Yalnızca
+ * JMX'te açıktır: {@code org.springframework.boot:type=Endpoint,name=Expertiselatest}
+ */
+@Component
+@Endpoint(id = "expertiselatest")
+public class ExpertiseLatestEndpoint {
+
+    private final ExpertiseLatestBackfill backfill;
+
+    public ExpertiseLatestEndpoint(ExpertiseLatestBackfill backfill) {
+        this.backfill = backfill;
+    }
+
+    @ReadOperation
+    public Map<String, Object> progress() {
+        return describe(backfill.progress());
+    }
+
+    @WriteOperation
+    public Map<String, Object> backfill() {
+        boolean started = backfill.start();
+        Map<String, Object> result = describe(backfill.progress());
+        result.put("started", started);
+        return result;
+    }
+
+    private static Map<String, Object> describe(ExpertiseLatestBackfill.Progress progress) {
+        // lastCarId null olabilir; Map.of null kabul etmez
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("running", progress.running());
+        result.put("carsProcessed", progress.carsProcessed());
+        result.put("lastCarId", progress.lastCarId());
+        return result;
+    }
+}
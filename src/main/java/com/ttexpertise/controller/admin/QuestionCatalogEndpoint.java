@@ -0,0 +1,42 @@
+package com.ttexpertise.controller.admin;
+
+import com.ttexpertise.service.QuestionCatalog;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Soru kataloğunun versiyonunu gösterir; {@code refresh} ile anında yenileme tetikler. Kimlik doğrulama olmadığından
+ * HTTP'de açılmaz, yalnızca JMX'tedir: {@code org.springframework.boot:type=Endpoint,name=Questioncatalog}
+ */
+@Component
+@Endpoint(id = "questioncatalog")
+public class QuestionCatalogEndpoint {
+
+    private final QuestionCatalog questionCatalog;
+
+    public QuestionCatalogEndpoint(QuestionCatalog questionCatalog) {
+        this.questionCatalog = questionCatalog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> catalog() {
+        return describe(questionCatalog.current());
+    }
+
+    @WriteOperation
+    public Map<String, Object> refresh() {
+        return describe(questionCatalog.refresh());
+    }
+
+    private static Map<String, Object> describe(QuestionCatalog.Snapshot snapshot) {
+        return Map.of(
+                "version", snapshot.version(),
+                "questions", snapshot.size(),
+                "activeQuestions", snapshot.activeQuestions().size()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.ttexpertise.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchReadExpertiseRequest(
+        @NotEmpty @Size(max = 500) List<@NotBlank String> carIds
+) {
+}
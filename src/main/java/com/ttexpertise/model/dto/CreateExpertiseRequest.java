@@ -1,5 +1,6 @@
 package com.ttexpertise.model.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -8,8 +9,9 @@ import jakarta.validation.constraints.Size;
 import java.util.List;
 
 public record CreateExpertiseRequest(
-        @NotBlank String carId,
-        @NotEmpty List<AnswerPayload> answers
+        // expertise.car_id VARCHAR(64); uzun değer COPY'de tüm parçayı düşürür
+        @NotBlank @Size(max = 64) String carId,
+        @NotEmpty @Valid List<AnswerPayload> answers
 ) {
     public record AnswerPayload(
             @NotNull Long questionId,
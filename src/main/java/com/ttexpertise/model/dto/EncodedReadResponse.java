@@ -0,0 +1,42 @@
+package com.ttexpertise.model.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bir kez serialize edilmiş okuma cevabı: JSON byte'ları, yeterince büyükse gzip'li hali ve içerik hash'inden ETag.
+ * Nesne hali toplu okuma için tutulur.
+ */
+public record EncodedReadResponse(ReadExpertiseResponse response, byte[] json, byte[] gzip, String etag) {
+
+    public static EncodedReadResponse encode(ReadExpertiseResponse response, ObjectMapper objectMapper, int gzipMinBytes) {
+        try {
+            return fromJson(response, objectMapper.writeValueAsBytes(response), gzipMinBytes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Read response could not be serialized", e);
+        }
+    }
+
+    public static EncodedReadResponse fromJson(ReadExpertiseResponse response, byte[] json, int gzipMinBytes) {
+        // Gzip ve JSON aynı içeriğin iki kodlamasıdır; ETag zayıf olduğu için ikisi de aynı değeri taşır
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        byte[] gzip = gzipMinBytes >= 0 && json.length >= gzipMinBytes ? gzip(json) : null;
+        return new EncodedReadResponse(response, json, gzip != null && gzip.length < json.length ? gzip : null, etag);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,19 @@
+package com.ttexpertise.model.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Değişiklik akışından bir sayfa; istemci bir sonraki istekte {@code nextSince} gönderir.
+ * {@code hasMore} false ise istemci şimdilik günceldir ve daha sonra aynı token ile tekrar sorar.
+ */
+public record ExpertiseChangePage(
+        List<Entry> items,
+        String nextSince,
+        boolean hasMore
+) {
+    public record Entry(
+            UUID expertiseId, String carId, Instant createdAt, List<ExpertiseHistoryPage.AnswerItem> answers
+    ) {}
+}
@@ -0,0 +1,18 @@
+package com.ttexpertise.model.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Dışa aktarımda fotoğraf başına bir satır; cevapsız ekspertizde cevap, fotoğrafsız cevapta fotoğraf alanları null'dır.
+ */
+public record ExpertiseExportRow(
+        UUID expertiseId,
+        String carId,
+        Instant createdAt,
+        Long questionId,
+        Boolean answeredYes,
+        String description,
+        String photoUrl
+) {
+}
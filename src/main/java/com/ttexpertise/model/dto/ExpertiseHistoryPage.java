@@ -0,0 +1,21 @@
+package com.ttexpertise.model.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bir aracın ekspertiz geçmişinden yeniden eskiye bir sayfa; {@code nextCursor} null ise son sayfadır.
+ */
+public record ExpertiseHistoryPage(
+        String carId,
+        List<Entry> items,
+        String nextCursor
+) {
+    public record Entry(
+            UUID expertiseId, Instant createdAt, List<AnswerItem> answers
+    ) {}
+    public record AnswerItem(
+            Long questionId, String text, boolean answeredYes, String description, List<String> photoUrls
+    ) {}
+}
@@ -0,0 +1,29 @@
+package com.ttexpertise.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * Toplu içe aktarmada tek bir NDJSON satırının sonucu. {@code line} 1'den başlar.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportLineResult(
+        long line, Status status, UUID id, String error
+) {
+    public enum Status {
+        CREATED, REJECTED, FAILED
+    }
+
+    public static ImportLineResult created(long line, UUID id) {
+        return new ImportLineResult(line, Status.CREATED, id, null);
+    }
+
+    public static ImportLineResult rejected(long line, String error) {
+        return new ImportLineResult(line, Status.REJECTED, null, error);
+    }
+
+    public static ImportLineResult failed(long line, String error) {
+        return new ImportLineResult(line, Status.FAILED, null, error);
+    }
+}
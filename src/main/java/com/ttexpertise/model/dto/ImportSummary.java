@@ -0,0 +1,6 @@
+package com.ttexpertise.model.dto;
+
+public record ImportSummary(
+        long lines, long created, long rejected, long failed
+) {
+}
@@ -0,0 +1,22 @@
+package com.ttexpertise.model.dto;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * İstemcinin bildiği ekspertizden ({@code baseExpertiseId}) bu yana cevabı, açıklaması veya fotoğrafları değişen sorular.
+ * {@code questionIds} güncel aktif soru sırasıdır; istemci listede olmayanları siler, yerelde olmayan bir id görürse
+ * tam okuma yapar.
+ */
+public record ReadExpertiseDelta(
+        String carId,
+        UUID expertiseId,
+        UUID baseExpertiseId,
+        List<ReadExpertiseResponse.QuestionItem> changed,
+        List<Long> questionIds
+) {
+    public boolean unchanged() {
+        return Objects.equals(expertiseId, baseExpertiseId);
+    }
+}
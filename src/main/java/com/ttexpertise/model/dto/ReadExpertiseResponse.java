@@ -1,9 +1,15 @@
 package com.ttexpertise.model.dto;
 
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Aracın son ekspertizine göre soru listesi; {@code expertiseId} delta okumada istemcinin bildiği sürümdür
+ * (ekspertizi olmayan araçta null).
+ */
 public record ReadExpertiseResponse(
         String carId,
+        UUID expertiseId,
         List<QuestionItem> items
 ) {
     public record QuestionItem(
@@ -12,4 +18,4 @@ public record ReadExpertiseResponse(
     public record Previous(
             boolean answeredYes, String description, List<String> photoUrls
     ) {}
-}
\ No newline at end of file
+}
@@ -21,6 +21,10 @@ public class Expertise {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
+    // Değişiklik akışı sırası; veritabanı yazan transaction'ın id'sini atar
+    @Column(name = "change_txid", insertable = false, updatable = false)
+    private Long changeTxid;
+
     @OneToMany(mappedBy = "expertise", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Answer> answers = new ArrayList<>();
 
@@ -54,6 +58,14 @@ public class Expertise {
         this.createdAt = createdAt;
     }
 
+    public Long getChangeTxid() {
+        return changeTxid;
+    }
+
+    public void setChangeTxid(Long changeTxid) {
+        this.changeTxid = changeTxid;
+    }
+
     public List<Answer> getAnswers() {
         return answers;
     }
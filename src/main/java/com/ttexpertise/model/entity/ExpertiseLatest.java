@@ -0,0 +1,72 @@
+package com.ttexpertise.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Araç başına en son ekspertizin denormalize özeti. Yalnızca native upsert ile yazılır,
+ * JPA üzerinden sadece okunur.
+ */
+@Entity
+@Immutable
+@Table(name = "expertise_latest")
+public class ExpertiseLatest {
+
+    @Id
+    @Column(name = "car_id", length = 64)
+    private String carId;
+
+    @Column(name = "expertise_id", nullable = false)
+    private UUID expertiseId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "answers", nullable = false)
+    private List<AnswerSnapshot> answers;
+
+    public String getCarId() {
+        return carId;
+    }
+
+    public void setCarId(String carId) {
+        this.carId = carId;
+    }
+
+    public UUID getExpertiseId() {
+        return expertiseId;
+    }
+
+    public void setExpertiseId(UUID expertiseId) {
+        this.expertiseId = expertiseId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public List<AnswerSnapshot> getAnswers() {
+        return answers;
+    }
+
+    public void setAnswers(List<AnswerSnapshot> answers) {
+        this.answers = answers;
+    }
+
+    public record AnswerSnapshot(long questionId, boolean answeredYes, String description, List<String> photoUrls) {
+    }
+}
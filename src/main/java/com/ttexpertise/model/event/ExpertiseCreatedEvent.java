@@ -0,0 +1,9 @@
+package com.ttexpertise.model.event;
+
+import java.util.UUID;
+
+/**
+ * Yeni bir ekspertiz kaydedildiğinde yayınlanır. Dinleyiciler commit sonrasında çalışır.
+ */
+public record ExpertiseCreatedEvent(UUID expertiseId, String carId) {
+}
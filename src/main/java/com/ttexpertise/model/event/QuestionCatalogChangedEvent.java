@@ -0,0 +1,7 @@
+package com.ttexpertise.model.event;
+
+/**
+ * Soru kataloğunun içeriği değişip yeni bir versiyon yayınlandığında tetiklenir.
+ */
+public record QuestionCatalogChangedEvent(long version) {
+}
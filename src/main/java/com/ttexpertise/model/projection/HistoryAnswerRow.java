@@ -0,0 +1,19 @@
+package com.ttexpertise.model.projection;
+
+import java.util.UUID;
+
+/**
+ * Geçmiş sayfasındaki ekspertizlerin cevap/fotoğraf satırı; fotoğrafsız cevaplarda {@code photoUrl} null'dır.
+ */
+public interface HistoryAnswerRow {
+
+    UUID getExpertiseId();
+
+    Long getQuestionId();
+
+    Boolean getAnsweredYes();
+
+    String getDescription();
+
+    String getPhotoUrl();
+}
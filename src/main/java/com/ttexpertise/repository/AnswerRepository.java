@@ -1,8 +1,12 @@
 package com.ttexpertise.repository;
 
 import com.ttexpertise.model.entity.Answer;
+import com.ttexpertise.model.projection.HistoryAnswerRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -10,4 +14,20 @@ public interface AnswerRepository extends JpaRepository<Answer, UUID> {
 
     List<Answer> findByExpertiseId(UUID expertiseId);
 
+    /**
+     * Verilen ekspertizlerin cevap ve fotoğraf satırlarını tek sorguda döner.
+     */
+    @Query(value = """
+            SELECT a.expertise_id AS "expertiseId",
+                   a.question_id  AS "questionId",
+                   a.value        AS "answeredYes",
+                   a.description  AS "description",
+                   p.url          AS "photoUrl"
+            FROM answer a
+            LEFT JOIN photo p ON p.answer_id = a.id
+            WHERE a.expertise_id IN (:expertiseIds)
+            ORDER BY a.expertise_id, a.question_id
+            """, nativeQuery = true)
+    List<HistoryAnswerRow> findRowsByExpertiseIdIn(@Param("expertiseIds") Collection<UUID> expertiseIds);
+
 }
@@ -0,0 +1,86 @@
+package com.ttexpertise.repository;
+
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.util.Csv;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Toplu içe aktarma için expertise/answer/photo satırlarını PostgreSQL {@code COPY} ile yazar.
+ * Çağıranın açtığı transaction'ın bağlantısını kullanır; commit/rollback çağırana aittir.
+ */
+@Repository
+public class ExpertiseCopyRepository {
+
+    private static final String COPY_EXPERTISE = "COPY expertise (id, car_id, created_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_ANSWER = "COPY answer (id, expertise_id, question_id, value, description) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_PHOTO = "COPY photo (id, answer_id, url) FROM STDIN WITH (FORMAT csv)";
+
+    private final DataSource dataSource;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+
+    public ExpertiseCopyRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void copy(List<PendingExpertise> expertises) {
+        StringBuilder expertiseRows = new StringBuilder();
+        StringBuilder answerRows = new StringBuilder();
+        StringBuilder photoRows = new StringBuilder();
+        for (PendingExpertise expertise : expertises) {
+            expertiseRows.append(expertise.id()).append(',');
+            Csv.appendField(expertiseRows, expertise.request().carId()).append(',')
+                    .append(expertise.createdAt()).append('\n');
+            for (CreateExpertiseRequest.AnswerPayload answer : expertise.request().answers()) {
+                UUID answerId = UUID.randomUUID();
+                answerRows.append(answerId).append(',')
+                        .append(expertise.id()).append(',')
+                        .append(answer.questionId()).append(',')
+                        .append(answer.value()).append(',');
+                Csv.appendField(answerRows, answer.description()).append('\n');
+                if (answer.photoUrls() == null) {
+                    continue;
+                }
+                for (String url : answer.photoUrls()) {
+                    photoRows.append(UUID.randomUUID()).append(',').append(answerId).append(',');
+                    Csv.appendField(photoRows, url).append('\n');
+                }
+            }
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            var copyApi = connection.unwrap(PGConnection.class).getCopyAPI();
+            copyApi.copyIn(COPY_EXPERTISE, new StringReader(expertiseRows.toString()));
+            copyApi.copyIn(COPY_ANSWER, new StringReader(answerRows.toString()));
+            if (!photoRows.isEmpty()) {
+                copyApi.copyIn(COPY_PHOTO, new StringReader(photoRows.toString()));
+            }
+        } catch (SQLException e) {
+            throw exceptionTranslator.translate("COPY", null, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Kimliği ve zamanı önceden atanmış, doğrulanmış bir içe aktarma kaydı.
+     */
+    public record PendingExpertise(UUID id, Instant createdAt, CreateExpertiseRequest request) {
+    }
+}
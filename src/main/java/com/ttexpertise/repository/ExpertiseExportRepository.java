@@ -0,0 +1,78 @@
+package com.ttexpertise.repository;
+
+import com.ttexpertise.model.dto.ExpertiseExportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Tarih aralığındaki expertise/answer/photo satırlarını PostgreSQL sunucu tarafı cursor'ı ile okur.
+ * Sürücü fetch size kadar satırı bellekte tutar; auto-commit kapalı olmadıkça tüm sonucu çeker,
+ * bu yüzden çağıranın açtığı transaction'ın bağlantısı kullanılır.
+ */
+@Repository
+public class ExpertiseExportRepository {
+
+    private static final String EXPORT_SQL = """
+            SELECT e.id, e.car_id, e.created_at, a.question_id, a.value, a.description, p.url
+            FROM expertise e
+            LEFT JOIN answer a ON a.expertise_id = e.id
+            LEFT JOIN photo p ON p.answer_id = a.id
+            WHERE e.created_at >= ? AND e.created_at < ?
+            ORDER BY e.created_at, e.id, a.question_id
+            """;
+
+    private final DataSource dataSource;
+    private final int fetchSize;
+    private final SQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+
+    public ExpertiseExportRepository(DataSource dataSource,
+                                     @Value("${expertise.export.fetch-size:2000}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Satırları sırayla {@code sink}'e verir ve okunan satır sayısını döner.
+     */
+    public long stream(Instant from, Instant to, Consumer<ExpertiseExportRow> sink) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(fetchSize);
+            statement.setTimestamp(1, Timestamp.from(from));
+            statement.setTimestamp(2, Timestamp.from(to));
+            long rows = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    sink.accept(new ExpertiseExportRow(
+                            resultSet.getObject(1, UUID.class),
+                            resultSet.getString(2),
+                            resultSet.getObject(3, OffsetDateTime.class).toInstant(),
+                            resultSet.getObject(4, Long.class),
+                            resultSet.getObject(5, Boolean.class),
+                            resultSet.getString(6),
+                            resultSet.getString(7)));
+                    rows++;
+                }
+            }
+            return rows;
+        } catch (SQLException e) {
+            throw exceptionTranslator.translate("export", EXPORT_SQL, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.ttexpertise.repository;
+
+import com.ttexpertise.model.entity.ExpertiseLatest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ExpertiseLatestRepository extends JpaRepository<ExpertiseLatest, String> {
+
+    /**
+     * Aracın özet satırını yazar; mevcut satır daha yeni bir ekspertize aitse dokunmaz.
+     * Aynı transaction'daki bekleyen INSERT'ler FK için önce flush edilir.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO expertise_latest (car_id, expertise_id, created_at, answers)
+            VALUES (:carId, :expertiseId, :createdAt, CAST(:answers AS jsonb))
+            ON CONFLICT (car_id) DO UPDATE
+                SET expertise_id = EXCLUDED.expertise_id,
+                    created_at   = EXCLUDED.created_at,
+                    answers      = EXCLUDED.answers
+                WHERE expertise_latest.created_at <= EXCLUDED.created_at
+            """, nativeQuery = true)
+    int upsert(@Param("carId") String carId,
+               @Param("expertiseId") UUID expertiseId,
+               @Param("createdAt") Instant createdAt,
+               @Param("answers") String answersJson);
+
+    /**
+     * Verilen araçların özetini mevcut expertise/answer/photo satırlarından yeniden kurar.
+     * Toplu içe aktarma ve backfill tarafından kullanılır.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO expertise_latest (car_id, expertise_id, created_at, answers)
+            SELECT e.car_id, e.id, e.created_at,
+                   COALESCE((SELECT jsonb_agg(jsonb_build_object(
+                                        'questionId', a.question_id,
+                                        'answeredYes', a.value,
+                                        'description', a.description,
+                                        'photoUrls', COALESCE((SELECT jsonb_agg(p.url) FROM photo p WHERE p.answer_id = a.id), '[]'::jsonb))
+                                    ORDER BY a.question_id)
+                             FROM answer a
+                             WHERE a.expertise_id = e.id), '[]'::jsonb)
+            FROM (SELECT DISTINCT ON (x.car_id) x.id, x.car_id, x.created_at
+                  FROM expertise x
+                  WHERE x.car_id IN (:carIds)
+                  ORDER BY x.car_id, x.created_at DESC) e
+            ON CONFLICT (car_id) DO UPDATE
+                SET expertise_id = EXCLUDED.expertise_id,
+                    created_at   = EXCLUDED.created_at,
+                    answers      = EXCLUDED.answers
+                WHERE expertise_latest.created_at <= EXCLUDED.created_at
+            """, nativeQuery = true)
+    int refreshForCars(@Param("carIds") Collection<String> carIds);
+
+    /**
+     * Backfill için {@code after}'dan sonraki ekspertizi olan carId'leri sıralı döner ({@code idx_expertise_car_created}).
+     */
+    @Query(value = """
+            SELECT DISTINCT e.car_id
+            FROM expertise e
+            WHERE e.car_id > :after
+            ORDER BY e.car_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findCarIdsWithExpertiseAfter(@Param("after") String after, @Param("limit") int limit);
+}
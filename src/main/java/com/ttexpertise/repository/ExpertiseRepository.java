@@ -1,12 +1,77 @@
 package com.ttexpertise.repository;
 
 import com.ttexpertise.model.entity.Expertise;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface ExpertiseRepository extends JpaRepository<Expertise, Long> {
 
     Optional<Expertise> findTopByCarIdOrderByCreatedAtDesc(String carId);
 
+    /**
+     * Ekspertizin ait olduğu araç; birincil anahtar üzerinden yalnızca {@code car_id} okunur.
+     */
+    @Query("SELECT e.carId FROM Expertise e WHERE e.id = :id")
+    Optional<String> findCarIdById(@Param("id") UUID id);
+
+    /**
+     * Geçmişin ilk sayfası: {@code idx_expertise_car_created} üzerinden yeniden eskiye.
+     */
+    List<Expertise> findByCarIdOrderByCreatedAtDescIdDesc(String carId, Limit limit);
+
+    /**
+     * Geçmişin sonraki sayfaları: {@code (created_at, id)} cursor'ından sonrası, OFFSET olmadan.
+     * {@code created_at <= :createdAt} index koşuludur; eşit zamanlılarda id ile ayrılır.
+     */
+    @Query("""
+            SELECT e FROM Expertise e
+            WHERE e.carId = :carId
+              AND e.createdAt <= :createdAt
+              AND (e.createdAt < :createdAt OR e.id < :id)
+            ORDER BY e.createdAt DESC, e.id DESC
+            """)
+    List<Expertise> findHistoryPageBefore(@Param("carId") String carId,
+                                          @Param("createdAt") Instant createdAt,
+                                          @Param("id") UUID id,
+                                          Limit limit);
+
+    /**
+     * Değişiklik akışı: {@code (change_txid, id)} cursor'ından sonraki, yazan transaction'ı bitmiş ekspertizler.
+     * Açık bir transaction varken ondan sonra yazılanlar da beklemede kalır; sıra hiçbir zaman geriye düşmez.
+     * {@code pg_snapshot_xmin} cluster geneli hesaplanır: aynı PostgreSQL cluster'ındaki başka bir veritabanında
+     * uzun süren bir yazma transaction'ı (veya bekleyen prepared transaction) da akışı o bitene kadar durdurur.
+     */
+    @Query(value = """
+            SELECT e.* FROM expertise e
+            WHERE (e.change_txid, e.id) > (:txid, :id)
+              AND e.change_txid < pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+            ORDER BY e.change_txid, e.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Expertise> findChangesAfter(@Param("txid") long txid, @Param("id") UUID id, @Param("limit") int limit);
+
+    /**
+     * {@link #findChangesAfter} ile aynı, yalnızca verilen araçlar için ({@code idx_expertise_car_change}).
+     */
+    @Query(value = """
+            SELECT e.* FROM expertise e
+            WHERE e.car_id IN (:carIds)
+              AND (e.change_txid, e.id) > (:txid, :id)
+              AND e.change_txid < pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+            ORDER BY e.change_txid, e.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Expertise> findChangesForCarsAfter(@Param("carIds") Collection<String> carIds,
+                                            @Param("txid") long txid,
+                                            @Param("id") UUID id,
+                                            @Param("limit") int limit);
+
 }
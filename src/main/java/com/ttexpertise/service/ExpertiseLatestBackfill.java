@@ -0,0 +1,96 @@
+package com.ttexpertise.service;
+
+import com.ttexpertise.repository.ExpertiseLatestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code expertise_latest} özetlerini mevcut veriden carId sırasıyla, parça başına bir transaction olacak şekilde
+ * yeniden kurar. İlk doldurma V4 migration'ında yapılır; bu iş onarım ve yeniden kurulum içindir. Sharding açıkken
+ * shard'lar sırayla işlenir.
+ */
+@Service
+public class ExpertiseLatestBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpertiseLatestBackfill.class);
+
+    private final ExpertiseLatestRepository latestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouting shardRouting;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Progress progress = new Progress(false, 0, null);
+
+    public ExpertiseLatestBackfill(ExpertiseLatestRepository latestRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   ShardRouting shardRouting,
+                                   @Value("${expertise.latest.backfill-batch-size:500}") int batchSize) {
+        this.latestRepository = latestRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouting = shardRouting;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * İşi arka planda başlatır; zaten çalışıyorsa false döner.
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        progress = new Progress(true, 0, null);
+        Thread.ofVirtual().name("expertise-latest-backfill").start(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                log.error("expertise_latest backfill stopped after {} cars", progress.carsProcessed(), e);
+            } finally {
+                progress = new Progress(false, progress.carsProcessed(), progress.lastCarId());
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public Progress progress() {
+        return progress;
+    }
+
+    long run() {
+        long carsProcessed = 0;
+        for (int shard : shardRouting.allShards()) {
+            long processedBefore = carsProcessed;
+            carsProcessed += shardRouting.forShard(shard, () -> runShard(processedBefore));
+        }
+        log.info("expertise_latest backfill finished for {} cars", carsProcessed);
+        return carsProcessed;
+    }
+
+    private long runShard(long processedBefore) {
+        String after = "";
+        long carsProcessed = processedBefore;
+        while (true) {
+            // 1. Sıradaki carId parçası index üzerinden keyset ile alınır
+            List<String> carIds = latestRepository.findCarIdsWithExpertiseAfter(after, batchSize);
+            if (carIds.isEmpty()) {
+                break;
+            }
+
+            // 2. Parçanın özetleri tek upsert ile kendi transaction'ında yazılır
+            transactionTemplate.executeWithoutResult(status -> latestRepository.refreshForCars(carIds));
+            carsProcessed += carIds.size();
+            after = carIds.get(carIds.size() - 1);
+            progress = new Progress(true, carsProcessed, after);
+        }
+        return carsProcessed - processedBefore;
+    }
+
+    public record Progress(boolean running, long carsProcessed, String lastCarId) {
+    }
+}
@@ -0,0 +1,328 @@
+package com.ttexpertise.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ttexpertise.model.dto.EncodedReadResponse;
+import com.ttexpertise.model.dto.ReadExpertiseResponse;
+import com.ttexpertise.model.event.ExpertiseCreatedEvent;
+import com.ttexpertise.model.event.QuestionCatalogChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * {@code readForCar} sonuçları için iki katmanlı read-through cache.
+ * L1 süreç içi, boyut ve TTL ile sınırlı bir Caffeine cache'idir; L2 opsiyonel olarak Redis'tir.
+ * Girdiler yüklenirken bir kez serialize edilir ve L1'de byte olarak tutulur.
+ * Yeni ekspertiz commit edildiğinde ilgili carId her iki katmandan silinir ve
+ * Redis açıksa silme mesajı diğer node'lara pub/sub ile iletilir. Silme sırasında aracın son ekspertiz id'si
+ * Redis'e yazılır; commit'ten önce başlamış bir yükleme L2'ye ancak bu id'yi içeriyorsa yazabilir.
+ * Okuma replikasından yüklenen değerler yalnızca L1'de tutulur, L2'ye yazılmaz.
+ * L2 anahtarı soru kataloğunun içerik anahtarını içerir; katalog değişince eski L2 girdileri artık okunmaz.
+ */
+@Service
+public class ExpertiseReadCache {
+
+    public static final String INVALIDATION_CHANNEL = "expertise:read:invalidate";
+
+    private static final Logger log = LoggerFactory.getLogger(ExpertiseReadCache.class);
+    private static final String L2_KEY_PREFIX = "expertise:read:";
+    private static final String L2_VERSION_KEY_PREFIX = "expertise:read-version:";
+
+    // Sürüm anahtarı varsa ve yüklenen ekspertiz id'si farklıysa değer eskidir; yazılmaz
+    private static final RedisScript<Boolean> WRITE_IF_CURRENT = new DefaultRedisScript<>("""
+            local latest = redis.call('GET', KEYS[2])
+            if latest and latest ~= ARGV[2] then
+                return false
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+            return true
+            """, Boolean.class);
+
+    private final AsyncCache<String, EncodedReadResponse> l1;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final QuestionCatalog questionCatalog;
+    private final boolean l2Enabled;
+    private final Duration l2Ttl;
+    private final int gzipMinBytes;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private volatile String catalogKey;
+    private volatile String previousCatalogKey;
+
+    public ExpertiseReadCache(RedisTemplate<String, String> redisTemplate,
+                              ObjectMapper objectMapper,
+                              QuestionCatalog questionCatalog,
+                              MeterRegistry meterRegistry,
+                              @Value("${expertise.cache.l1.max-size:10000}") long l1MaxSize,
+                              @Value("${expertise.cache.l1.ttl:PT5M}") Duration l1Ttl,
+                              @Value("${expertise.cache.redis.enabled:false}") boolean l2Enabled,
+                              @Value("${expertise.cache.redis.ttl:PT30M}") Duration l2Ttl,
+                              @Value("${expertise.cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.questionCatalog = questionCatalog;
+        this.l2Enabled = l2Enabled;
+        this.l2Ttl = l2Ttl;
+        this.gzipMinBytes = gzipMinBytes;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterWrite(l1Ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, "expertise-read-l1");
+        this.catalogKey = questionCatalog.current().contentKey();
+        this.previousCatalogKey = catalogKey;
+        this.l2Hits = Counter.builder("cache.gets").tag("cache", "expertise-read-l2").tag("result", "hit")
+                .register(meterRegistry);
+        this.l2Misses = Counter.builder("cache.gets").tag("cache", "expertise-read-l2").tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public EncodedReadResponse get(String carId, Function<String, ReadExpertiseResponse> loader) {
+        // Aynı carId için eşzamanlı miss'ler tek yüklemede birleşir. Map kilidi altında yalnızca boş future konur,
+        // yükleme kilit dışında çağıran thread'de yapılır: senkron get loader'ı ConcurrentHashMap kilidi altında
+        // çalıştırır ve sanal thread'i DB/Redis I/O'su boyunca taşıyıcı thread'e sabitler
+        CompletableFuture<EncodedReadResponse> mine = new CompletableFuture<>();
+        CompletableFuture<EncodedReadResponse> current = l1.get(carId, (key, executor) -> mine);
+        if (current != mine) {
+            return join(current);
+        }
+        try {
+            EncodedReadResponse loaded = loadThroughL2(carId, loader);
+            mine.complete(loaded);
+            return loaded;
+        } catch (Throwable e) {
+            // Hatalı tamamlanan future Caffeine tarafından silinir; sonraki istek tekrar yükler. Error'lar da
+            // yakalanır: tamamlanmamış future hiç silinmez ve aynı carId için bekleyenler sonsuza kadar kalır
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Toplu okuma: L1'de olmayanlar önce tek MGET ile L2'den, kalanlar tek çağrıda {@code loader}'dan yüklenir.
+     * Dönen map {@code carIds} sırasını korur.
+     */
+    public Map<String, EncodedReadResponse> getAll(Collection<String> carIds,
+                                                   Function<Collection<String>, Map<String, ReadExpertiseResponse>> loader) {
+        // Toplu yüklemede fonksiyon kilit dışında çağrılır
+        Map<String, EncodedReadResponse> found = join(l1.getAll(carIds,
+                (missing, executor) -> CompletableFuture.completedFuture(loadAllThroughL2(missing, loader))));
+        Map<String, EncodedReadResponse> ordered = new LinkedHashMap<>();
+        for (String carId : carIds) {
+            ordered.put(carId, found.get(carId));
+        }
+        return ordered;
+    }
+
+    /**
+     * Girdiyi yerelden ve Redis'ten siler, diğer node'lara silme mesajı yayınlar. {@code expertiseId} aracın
+     * yeni commit edilen ekspertizidir; daha önce yüklenmiş eski değerlerin L2'ye geri yazılmasını engeller.
+     */
+    public void evict(String carId, UUID expertiseId) {
+        l1.synchronous().invalidate(carId);
+        if (!l2Enabled) {
+            return;
+        }
+        try {
+            // Sürüm silmeden önce yazılır: arada kalan eski bir yazma da reddedilir
+            redisTemplate.opsForValue().set(L2_VERSION_KEY_PREFIX + carId, expertiseId.toString(), l2Ttl);
+            // Henüz yenilenmemiş node'lar önceki katalog anahtarını okur; o da silinir
+            redisTemplate.delete(List.of(l2Key(catalogKey, carId), l2Key(previousCatalogKey, carId)));
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, carId);
+        } catch (DataAccessException e) {
+            log.warn("L2 invalidation failed for carId={}, relying on TTL", carId, e);
+        }
+    }
+
+    /**
+     * Başka bir node'dan gelen silme mesajı için yalnızca L1 girdisini siler.
+     */
+    public void evictLocal(String carId) {
+        l1.synchronous().invalidate(carId);
+    }
+
+    @TransactionalEventListener
+    public void onExpertiseCreated(ExpertiseCreatedEvent event) {
+        evict(event.carId(), event.expertiseId());
+    }
+
+    /**
+     * Soru metinleri değiştiğinde yerel girdiler bayatlar. L2 anahtarı yeni katalogla değiştiğinden eski L2
+     * girdileri okunmaz ve kendi TTL'i ile düşer.
+     */
+    @EventListener
+    public void onQuestionCatalogChanged(QuestionCatalogChangedEvent event) {
+        previousCatalogKey = catalogKey;
+        catalogKey = questionCatalog.current().contentKey();
+        l1.synchronous().invalidateAll();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private EncodedReadResponse loadThroughL2(String carId, Function<String, ReadExpertiseResponse> loader) {
+        if (!l2Enabled) {
+            return encode(loader.apply(carId));
+        }
+        // Anahtar yüklemeden önce alınır: yükleme sırasında katalog değişirse değer eski anahtara yazılır
+        String catalogKey = this.catalogKey;
+        EncodedReadResponse cached = readL2(l2Key(catalogKey, carId));
+        if (cached != null) {
+            l2Hits.increment();
+            return cached;
+        }
+        l2Misses.increment();
+        ReadYourWrites.Sourced<ReadExpertiseResponse> sourced = ReadYourWrites.trackingReplica(() -> loader.apply(carId));
+        EncodedReadResponse loaded = encode(sourced.value());
+        // Replikadan gelen değer gecikmeli olabilir; diğer node'lara yayılmaması için L2'ye yazılmaz
+        if (!sourced.fromReplica()) {
+            writeL2(catalogKey, carId, loaded);
+        }
+        return loaded;
+    }
+
+    private Map<String, EncodedReadResponse> loadAllThroughL2(Set<? extends String> carIds,
+                                                              Function<Collection<String>, Map<String, ReadExpertiseResponse>> loader) {
+        if (!l2Enabled) {
+            return encodeAll(loader.apply(List.copyOf(carIds)));
+        }
+        String catalogKey = this.catalogKey;
+        Map<String, EncodedReadResponse> result = readAllL2(catalogKey, List.copyOf(carIds));
+        l2Hits.increment(result.size());
+        List<String> missing = carIds.stream().filter(carId -> !result.containsKey(carId)).map(String.class::cast).toList();
+        if (!missing.isEmpty()) {
+            l2Misses.increment(missing.size());
+            ReadYourWrites.Sourced<Map<String, ReadExpertiseResponse>> sourced =
+                    ReadYourWrites.trackingReplica(() -> loader.apply(missing));
+            Map<String, EncodedReadResponse> loaded = encodeAll(sourced.value());
+            if (!sourced.fromReplica()) {
+                writeAllL2(catalogKey, loaded);
+            }
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    private EncodedReadResponse encode(ReadExpertiseResponse response) {
+        return EncodedReadResponse.encode(response, objectMapper, gzipMinBytes);
+    }
+
+    private Map<String, EncodedReadResponse> encodeAll(Map<String, ReadExpertiseResponse> responses) {
+        Map<String, EncodedReadResponse> encoded = new HashMap<>();
+        responses.forEach((carId, response) -> encoded.put(carId, encode(response)));
+        return encoded;
+    }
+
+    private EncodedReadResponse decodeL2(String value) throws IOException {
+        // L2'deki JSON tekrar serialize edilmez; byte'lar olduğu gibi kullanılır
+        byte[] json = value.getBytes(StandardCharsets.UTF_8);
+        return EncodedReadResponse.fromJson(objectMapper.readValue(json, ReadExpertiseResponse.class), json, gzipMinBytes);
+    }
+
+    private Map<String, EncodedReadResponse> readAllL2(String catalogKey, List<String> carIds) {
+        Map<String, EncodedReadResponse> result = new HashMap<>();
+        try {
+            List<String> values = redisTemplate.opsForValue()
+                    .multiGet(carIds.stream().map(carId -> l2Key(catalogKey, carId)).toList());
+            for (int i = 0; values != null && i < carIds.size(); i++) {
+                if (values.get(i) != null) {
+                    result.put(carIds.get(i), decodeL2(values.get(i)));
+                }
+            }
+        } catch (DataAccessException | IOException e) {
+            log.warn("L2 multi-read failed for {} carIds, falling back to database", carIds.size(), e);
+        }
+        return result;
+    }
+
+    private void writeAllL2(String catalogKey, Map<String, EncodedReadResponse> responses) {
+        try {
+            // Tek round trip: koşullu SET'ler pipeline ile gönderilir
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    responses.forEach((carId, response) -> operations.execute(WRITE_IF_CURRENT,
+                            l2Keys(catalogKey, carId), l2WriteArgs(response)));
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("L2 multi-write failed for {} carIds", responses.size(), e);
+        }
+    }
+
+    private EncodedReadResponse readL2(String key) {
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json == null ? null : decodeL2(json);
+        } catch (DataAccessException | IOException e) {
+            log.warn("L2 read failed for key={}, falling back to database", key, e);
+            return null;
+        }
+    }
+
+    private void writeL2(String catalogKey, String carId, EncodedReadResponse response) {
+        try {
+            redisTemplate.execute(WRITE_IF_CURRENT, l2Keys(catalogKey, carId), l2WriteArgs(response));
+        } catch (DataAccessException e) {
+            log.warn("L2 write failed for carId={}", carId, e);
+        }
+    }
+
+    private static String l2Key(String catalogKey, String carId) {
+        return L2_KEY_PREFIX + catalogKey + ":" + carId;
+    }
+
+    // Sürüm anahtarı katalogdan bağımsızdır: yeni ekspertiz her katalogdaki eski değeri geçersiz kılar
+    private static List<String> l2Keys(String catalogKey, String carId) {
+        return List.of(l2Key(catalogKey, carId), L2_VERSION_KEY_PREFIX + carId);
+    }
+
+    private Object[] l2WriteArgs(EncodedReadResponse response) {
+        UUID expertiseId = response.response().expertiseId();
+        return new Object[]{new String(response.json(), StandardCharsets.UTF_8),
+                expertiseId == null ? "" : expertiseId.toString(), String.valueOf(l2Ttl.toMillis())};
+    }
+}
@@ -0,0 +1,30 @@
+package com.ttexpertise.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@link StageMetrics} aşamalarının JFR karşılığı; kayıtlarda GC ve kilit olaylarıyla aynı zaman çizgisinde görünür.
+ */
+@Name("com.ttexpertise.ExpertiseStage")
+@Label("Expertise Stage")
+@Category({"TT Expertise", "Service"})
+@Description("Ekspertiz okuma/yazma yolundaki bir aşamanın süresi")
+@StackTrace(false)
+class ExpertiseStageEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Stage")
+    String stage;
+
+    ExpertiseStageEvent(String operation, String stage) {
+        this.operation = operation;
+        this.stage = stage;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ttexpertise.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Aynı Idempotency-Key ile başlayan istek bekleme süresi içinde bitmediğinde fırlatılır; istemci yeniden denemelidir.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyConflictException(String key) {
+        super("Request with the same Idempotency-Key is still in progress: " + key);
+    }
+}
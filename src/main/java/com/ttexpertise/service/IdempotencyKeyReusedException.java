@@ -0,0 +1,17 @@
+package com.ttexpertise.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Idempotency-Key daha önce farklı gövdeli bir istekle kullanılmışsa fırlatılır; saklı sonuç bu isteğe ait değildir.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency-Key was already used with a different request body: " + key);
+    }
+}
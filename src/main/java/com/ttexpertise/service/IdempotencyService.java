@@ -1,8 +1,18 @@
 package com.ttexpertise.service;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 public interface IdempotencyService {
+
+    /**
+     * {@link #reserveOrGet} ile ayrılmış ama henüz sonucu yazılmamış anahtarların değeri.
+     */
+    String IN_PROGRESS = "__in_progress__";
+
+    Duration DEFAULT_TTL = Duration.ofHours(1);
     
     boolean isDuplicate(String key);
     
@@ -17,4 +27,59 @@ public interface IdempotencyService {
     default void removeKey(String key) {
         // Default implementation does nothing
     }
+
+    /**
+     * Tek atomik işlemde anahtarı {@link #IN_PROGRESS} değeriyle ayırır.
+     * Anahtar yeni ise null döner (çağıran işi yapmalı), değilse mevcut değeri döner
+     * (başka bir istek işliyorsa {@link #IN_PROGRESS}, bitmişse saklanan sonuç).
+     */
+    default String reserveOrGet(String key, Duration ttl) {
+        return reserveOrGet(key, IN_PROGRESS, ttl);
+    }
+
+    /**
+     * {@link #reserveOrGet(String, Duration)} gibi, ama anahtar verilen {@code reservation} değeriyle ayrılır;
+     * çağıran ayırmaya istek gövdesinin özeti gibi ek bilgi koyabilir.
+     */
+    String reserveOrGet(String key, String reservation, Duration ttl);
+
+    /**
+     * Anahtar hâlâ {@code reservation} değerini taşıyorsa süresini {@code ttl} ile yeniler; uzun süren bir istek
+     * çalışırken ayırmanın düşmesini önler. Anahtar silinmiş ya da sonuç yazılmışsa false döner.
+     */
+    default boolean extendReservation(String key, String reservation, Duration ttl) {
+        return false;
+    }
+
+    /**
+     * Birden çok anahtarın sonucunu döner; sonucu olmayan anahtarlar map'te yer almaz.
+     */
+    default Map<String, String> getResults(Collection<String> keys) {
+        Map<String, String> results = new HashMap<>();
+        for (String key : keys) {
+            String result = getResult(key);
+            if (result != null) {
+                results.put(key, result);
+            }
+        }
+        return results;
+    }
+
+    default void markAllAsProcessed(Map<String, String> results, Duration ttl) {
+        results.forEach((key, result) -> markAsProcessed(key, result, ttl));
+    }
+
+    /**
+     * Anahtarların hepsi için {@link #reserveOrGet}; yeni ayrılan anahtarlar map'te yer almaz.
+     */
+    default Map<String, String> reserveOrGetAll(Collection<String> keys, Duration ttl) {
+        Map<String, String> existing = new HashMap<>();
+        for (String key : keys) {
+            String value = reserveOrGet(key, ttl);
+            if (value != null) {
+                existing.put(key, value);
+            }
+        }
+        return existing;
+    }
 }
@@ -0,0 +1,234 @@
+package com.ttexpertise.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Idempotency-Key taşıyan istekleri bir kez çalıştırır. Aynı node'da eşzamanlı gelen kopyalar ilk isteğin
+ * sonucunu bekler (single-flight); başka node'daki kopyalar {@link IdempotencyService#reserveOrGet} ile ayrılan
+ * anahtarın sonucu yazılana kadar yoklar. Biten isteklerin sonucu saklanır ve sonraki kopyalara aynen döner.
+ * Ayırma ve sonuç istek gövdesinin SHA-256 özetiyle saklanır; aynı anahtar farklı gövdeyle gelirse
+ * {@link IdempotencyKeyReusedException} fırlatılır. İstek sürdükçe ayırmanın süresi periyodik olarak yenilenir;
+ * ayırma yalnızca node çökerse {@code idempotency.in-progress-ttl} sonunda serbest kalır.
+ */
+@Service
+public class IdempotentRequestExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotentRequestExecutor.class);
+    private static final Duration MIN_POLL_INTERVAL = Duration.ofMillis(25);
+    private static final Duration MAX_POLL_INTERVAL = Duration.ofMillis(500);
+    // Saklanan değer "<64 hex özet>:<IN_PROGRESS veya sonuç JSON'u>"; özetsiz eski değerler eşleşmiş sayılır
+    private static final Pattern BOUND_VALUE = Pattern.compile("^[0-9a-f]{64}:");
+    private static final int FINGERPRINT_LENGTH = 64;
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+    private final Duration inProgressTtl;
+    private final Duration waitTimeout;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("idempotency-heartbeat").factory());
+    private final Counter replays;
+    private final Counter localWaits;
+    private final Counter remoteWaits;
+
+    public IdempotentRequestExecutor(IdempotencyService idempotencyService,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${idempotency.in-progress-ttl:PT30S}") Duration inProgressTtl,
+                                     @Value("${idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+        this.inProgressTtl = inProgressTtl;
+        this.waitTimeout = waitTimeout;
+        this.replays = Counter.builder("idempotency.replays")
+                .description("Saklanan sonucu dönen tekrar istekler")
+                .register(meterRegistry);
+        this.localWaits = Counter.builder("idempotency.coalesced").tag("scope", "local")
+                .description("Aynı node'da devam eden isteği bekleyen kopyalar")
+                .register(meterRegistry);
+        this.remoteWaits = Counter.builder("idempotency.coalesced").tag("scope", "remote")
+                .description("Başka node'da devam eden isteği bekleyen kopyalar")
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@code action}'ı anahtar başına bir kez çalıştırır; {@code request} anahtarın bağlandığı istek gövdesidir.
+     */
+    public <T> T execute(String key, Object request, Class<T> resultType, Supplier<T> action) {
+        String fingerprint = fingerprint(request);
+
+        // 1. Aynı node'da aynı anahtar işleniyorsa onun sonucunu bekle
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            localWaits.increment();
+            return decode(awaitLocal(key, existing.result()), resultType);
+        }
+
+        // 2. İlk gelen istek anahtarı dağıtık depoda ayırır ya da saklı sonucu alır
+        try {
+            String result = executeOnce(key, fingerprint, action);
+            mine.result().complete(result);
+            return decode(result, resultType);
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private String executeOnce(String key, String fingerprint, Supplier<?> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        Duration pollInterval = MIN_POLL_INTERVAL;
+        boolean waited = false;
+        String reservation = bind(fingerprint, IdempotencyService.IN_PROGRESS);
+        while (true) {
+            String stored = idempotencyService.reserveOrGet(key, reservation, inProgressTtl);
+            if (stored == null) {
+                return run(key, fingerprint, reservation, action);
+            }
+            if (BOUND_VALUE.matcher(stored).find()) {
+                if (!stored.startsWith(fingerprint)) {
+                    throw new IdempotencyKeyReusedException(key);
+                }
+                stored = stored.substring(FINGERPRINT_LENGTH + 1);
+            }
+            if (!IdempotencyService.IN_PROGRESS.equals(stored)) {
+                replays.increment();
+                return stored;
+            }
+            if (!waited) {
+                remoteWaits.increment();
+                waited = true;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new IdempotencyConflictException(key);
+            }
+            sleep(key, pollInterval);
+            pollInterval = pollInterval.multipliedBy(2).compareTo(MAX_POLL_INTERVAL) > 0
+                    ? MAX_POLL_INTERVAL : pollInterval.multipliedBy(2);
+        }
+    }
+
+    private String run(String key, String fingerprint, String reservation, Supplier<?> action) {
+        // Ayırma TTL'inin üçte birinde bir yenilenir: istek TTL'den uzun sürse de başka node işi tekrar başlatmaz
+        long heartbeatMillis = Math.max(1, inProgressTtl.toMillis() / 3);
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(() -> extend(key, reservation),
+                heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        String result;
+        try {
+            result = objectMapper.writeValueAsString(action.get());
+        } catch (JsonProcessingException e) {
+            idempotencyService.removeKey(key);
+            throw new IllegalStateException("Idempotent result could not be serialized", e);
+        } catch (RuntimeException e) {
+            // Başarısız istek saklanmaz; istemci aynı anahtarla yeniden deneyebilir
+            idempotencyService.removeKey(key);
+            throw e;
+        } finally {
+            heartbeat.cancel(false);
+        }
+        // İş commit edildi; sonucun saklanamaması isteği başarısız yapmaz. Ayırma TTL sonunda düşer ve o zamana
+        // kadar gelen kopyalar 409 alır
+        try {
+            idempotencyService.markAsProcessed(key, bind(fingerprint, result), IdempotencyService.DEFAULT_TTL);
+        } catch (RuntimeException e) {
+            log.warn("Idempotent result could not be stored for key={}", key, e);
+        }
+        return result;
+    }
+
+    private void extend(String key, String reservation) {
+        // Yakalanmayan hata periyodik görevi sessizce durdurur
+        try {
+            idempotencyService.extendReservation(key, reservation, inProgressTtl);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency reservation could not be extended for key={}", key, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+    }
+
+    private String fingerprint(Object request) {
+        // Gövde DTO'dan yeniden serialize edilir: JSON/CBOR, gzip ve boşluk farkları özeti değiştirmez
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotent request could not be serialized", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String bind(String fingerprint, String value) {
+        return fingerprint + ":" + value;
+    }
+
+    private String awaitLocal(String key, CompletableFuture<String> future) {
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException(key);
+        }
+    }
+
+    private <T> T decode(String result, Class<T> resultType) {
+        try {
+            return objectMapper.readValue(result, resultType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent result could not be read", e);
+        }
+    }
+
+    private static void sleep(String key, Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException(key);
+        }
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<String> result) {
+    }
+}
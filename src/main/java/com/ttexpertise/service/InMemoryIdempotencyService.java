@@ -1,44 +1,116 @@
 package com.ttexpertise.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
+/**
+ * Tek node için idempotency deposu. Girdi başına TTL Caffeine'in zamanlayıcı çarkı ile uygulanır;
+ * süresi dolanlar ortak sistem zamanlayıcısı tarafından temizlenir, anahtar başına thread açılmaz.
+ * Toplam boyut yaklaşık byte cinsinden sınırlanır, sınır aşılınca en az kullanılanlar atılır.
+ */
 @Service
 @ConditionalOnProperty(name = "idempotency.type", havingValue = "memory", matchIfMissing = true)
 public class InMemoryIdempotencyService implements IdempotencyService {
-    
-    private final ConcurrentHashMap<String, String> cache = new ConcurrentHashMap<>();
-    
+
+    // String başlığı, map girdisi ve zamanlayıcı düğümü için kaba tahmin
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final Cache<String, Entry> cache;
+
+    public InMemoryIdempotencyService(MeterRegistry meterRegistry,
+                                      @Value("${idempotency.memory.max-bytes:67108864}") long maxBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry entry) -> weigh(key, entry.result()))
+                .expireAfter(new EntryExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency");
+    }
+
     @Override
     public boolean isDuplicate(String key) {
-        return cache.containsKey(key);
+        return cache.getIfPresent(key) != null;
     }
-    
+
     @Override
     public void markAsProcessed(String key, String result) {
-        cache.put(key, result);
-        // Simple cleanup after 1 hour
-        new Thread(() -> {
-            try {
-                TimeUnit.HOURS.sleep(1);
-                cache.remove(key);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }).start();
-    }
-    
+        markAsProcessed(key, result, DEFAULT_TTL);
+    }
+
+    @Override
+    public void markAsProcessed(String key, String result, Duration ttl) {
+        cache.put(key, new Entry(result, ttl.toNanos()));
+    }
+
     @Override
     public String getResult(String key) {
-        return cache.get(key);
+        Entry entry = cache.getIfPresent(key);
+        return entry == null ? null : entry.result();
     }
-    
+
     @Override
     public void removeKey(String key) {
-        cache.remove(key);
+        cache.invalidate(key);
+    }
+
+    @Override
+    public String reserveOrGet(String key, String reservation, Duration ttl) {
+        // Süresi dolmuş girdi Caffeine tarafından yok sayılır, ayırma yeniden yapılabilir
+        Entry existing = cache.asMap().putIfAbsent(key, new Entry(reservation, ttl.toNanos()));
+        return existing == null ? null : existing.result();
+    }
+
+    @Override
+    public boolean extendReservation(String key, String reservation, Duration ttl) {
+        Entry reserved = new Entry(reservation, ttl.toNanos());
+        // Yeniden yazma expireAfterUpdate ile süreyi baştan başlatır; sonuç yazılmışsa girdi değişmez
+        return cache.asMap().computeIfPresent(key,
+                (k, entry) -> entry.result().equals(reservation) ? reserved : entry) == reserved;
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private static int weigh(String key, String result) {
+        // Latin-1 olmayan karakterlerde String karakter başına 2 byte tutar; üst sınır olarak 2 alınır
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * key.length() + (result == null ? 0 : 2L * result.length());
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private record Entry(String result, long ttlNanos) {
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
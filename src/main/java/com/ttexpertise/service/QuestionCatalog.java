@@ -0,0 +1,166 @@
+package com.ttexpertise.service;
+
+import com.ttexpertise.model.entity.Question;
+import com.ttexpertise.model.event.QuestionCatalogChangedEvent;
+import com.ttexpertise.repository.QuestionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code question} tablosunun bellekteki değişmez, versiyonlu kopyası.
+ * Açılışta yüklenir, periyodik olarak ya da actuator üzerinden yenilenir ve atomik olarak değiştirilir.
+ * İçerik değişmediği sürece versiyon artmaz.
+ */
+@Service
+public class QuestionCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionCatalog.class);
+
+    private final QuestionRepository questionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+    public QuestionCatalog(QuestionRepository questionRepository, ApplicationEventPublisher eventPublisher) {
+        this.questionRepository = questionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    void load() {
+        refresh();
+    }
+
+    public Snapshot current() {
+        return current.get();
+    }
+
+    @Scheduled(fixedDelayString = "${expertise.question-catalog.refresh-interval:PT5M}",
+            initialDelayString = "${expertise.question-catalog.refresh-interval:PT5M}")
+    public Snapshot refresh() {
+        List<Question> questions = questionRepository.findAll(Sort.by("id"));
+        Snapshot previous = current.get();
+        Snapshot loaded = Snapshot.of(previous.version() + 1, questions);
+        if (loaded.sameContentAs(previous)) {
+            return previous;
+        }
+        if (!current.compareAndSet(previous, loaded)) {
+            // Eşzamanlı bir yenileme kazandı; onun sonucu geçerli
+            return current.get();
+        }
+        log.info("Question catalog refreshed to version {} ({} questions)", loaded.version(), questions.size());
+        eventPublisher.publishEvent(new QuestionCatalogChangedEvent(loaded.version()));
+        return loaded;
+    }
+
+    public record CatalogQuestion(long id, String text, boolean active) {
+    }
+
+    /**
+     * Soru id'sine göre sıralı paralel diziler; arama boxing olmadan ikili arama ile yapılır.
+     */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, new long[0], new String[0], new boolean[0]);
+
+        private final long version;
+        private final long[] ids;
+        private final String[] texts;
+        private final boolean[] active;
+        private final List<CatalogQuestion> activeQuestions;
+        private final String contentKey;
+
+        private Snapshot(long version, long[] ids, String[] texts, boolean[] active) {
+            this.version = version;
+            this.ids = ids;
+            this.texts = texts;
+            this.active = active;
+            List<CatalogQuestion> activeList = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                if (active[i]) {
+                    activeList.add(new CatalogQuestion(ids[i], texts[i], true));
+                }
+            }
+            this.activeQuestions = List.copyOf(activeList);
+            this.contentKey = contentKey(ids, texts, active);
+        }
+
+        public static Snapshot of(long version, List<Question> questions) {
+            List<Question> sorted = questions.stream()
+                    .sorted(Comparator.comparing(Question::getId))
+                    .toList();
+            long[] ids = new long[sorted.size()];
+            String[] texts = new String[sorted.size()];
+            boolean[] active = new boolean[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                ids[i] = sorted.get(i).getId();
+                texts[i] = sorted.get(i).getText();
+                active[i] = sorted.get(i).isActive();
+            }
+            return new Snapshot(version, ids, texts, active);
+        }
+
+        public long version() {
+            return version;
+        }
+
+        /**
+         * İçerikten türetilen anahtar. {@link #version()} her node'da ayrı sayılır; node'lar arasında paylaşılan
+         * anahtarlarda aynı içerik için aynı, farklı içerik için farklı değer bu alanla elde edilir.
+         */
+        public String contentKey() {
+            return contentKey;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        /**
+         * Aktif sorular, id'ye göre artan sırada.
+         */
+        public List<CatalogQuestion> activeQuestions() {
+            return activeQuestions;
+        }
+
+        public boolean contains(long questionId) {
+            return Arrays.binarySearch(ids, questionId) >= 0;
+        }
+
+        public boolean isActive(long questionId) {
+            int index = Arrays.binarySearch(ids, questionId);
+            return index >= 0 && active[index];
+        }
+
+        public String text(long questionId) {
+            int index = Arrays.binarySearch(ids, questionId);
+            return index >= 0 ? texts[index] : null;
+        }
+
+        private static String contentKey(long[] ids, String[] texts, boolean[] active) {
+            long hash = 1125899906842597L;
+            for (int i = 0; i < ids.length; i++) {
+                hash = 31 * hash + ids[i];
+                hash = 31 * hash + (texts[i] == null ? 0 : texts[i].hashCode());
+                hash = 31 * hash + (active[i] ? 1 : 0);
+            }
+            return Long.toHexString(hash);
+        }
+
+        boolean sameContentAs(Snapshot other) {
+            return Arrays.equals(ids, other.ids)
+                    && Arrays.equals(texts, other.texts)
+                    && Arrays.equals(active, other.active);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ttexpertise.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ttexpertise.model.event.ExpertiseCreatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Okuma replikası açıkken "kendi yazdığını oku" kuralı: ekspertizi yakın zamanda oluşturulan araçların okumaları
+ * {@code expertise.replica.read-your-writes-window} boyunca primary'ye gider. Araç commit'ten hemen önce
+ * işaretlenir; Redis açıksa diğer node'ların silme mesajları da aracı işaretler. Fiziksel bağlantı ilk sorguda
+ * alındığından readOnly transaction içinde çağrılması da yeterlidir. Replikadan okunan değer gecikmeli olabilir;
+ * {@link #trackingReplica(Supplier)} okumanın replikaya gidip gitmediğini bildirir, okuma cache'i bu değerleri
+ * node'lar arası paylaşılan L2'ye yazmaz.
+ */
+@Service
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWrites;
+
+    public ReadYourWrites(@Value("${expertise.replica.enabled:false}") boolean enabled,
+                          @Value("${expertise.replica.read-your-writes-window:PT5S}") Duration window) {
+        this.enabled = enabled;
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Mevcut thread'deki okuma primary'den yapılmalı mı; replika yönlendirmesi bağlantı alırken sorar.
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Replika yönlendirmesi bağlantıyı replikadan aldığında çağırır; yalnızca {@link #trackingReplica(Supplier)}
+     * içinde iz bırakır.
+     */
+    public static void markReplicaRead() {
+        if (REPLICA_READ.get() != null) {
+            REPLICA_READ.set(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * {@code read}'i çalıştırır ve sonucu, sırasında replikadan bağlantı alınıp alınmadığıyla birlikte döner.
+     */
+    public static <T> Sourced<T> trackingReplica(Supplier<T> read) {
+        REPLICA_READ.set(Boolean.FALSE);
+        try {
+            T value = read.get();
+            return new Sourced<>(value, REPLICA_READ.get());
+        } finally {
+            REPLICA_READ.remove();
+        }
+    }
+
+    public void markWritten(String carId) {
+        if (enabled) {
+            recentWrites.put(carId, Boolean.TRUE);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onExpertiseCreated(ExpertiseCreatedEvent event) {
+        markWritten(event.carId());
+    }
+
+    public <T> T readFor(String carId, Supplier<T> read) {
+        return enabled && recentWrites.getIfPresent(carId) != null ? onPrimary(read) : read.get();
+    }
+
+    public <T> T readFor(Collection<String> carIds, Supplier<T> read) {
+        if (enabled) {
+            for (String carId : carIds) {
+                if (recentWrites.getIfPresent(carId) != null) {
+                    return onPrimary(read);
+                }
+            }
+        }
+        return read.get();
+    }
+
+    private static <T> T onPrimary(Supplier<T> read) {
+        if (isPrimaryRequired()) {
+            return read.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    public record Sourced<T>(T value, boolean fromReplica) {
+    }
+}
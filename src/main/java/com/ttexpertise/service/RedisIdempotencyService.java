@@ -1,18 +1,44 @@
 package com.ttexpertise.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
+@ConditionalOnProperty(name = "idempotency.type", havingValue = "redis")
 public class RedisIdempotencyService implements IdempotencyService {
     
     private final RedisTemplate<String, String> redisTemplate;
     private static final String IDEMPOTENCY_KEY_PREFIX = "idempotency:";
-    private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+    // GET + koşullu SET tek round trip'te ve atomik çalışır; yeni anahtarda nil döner
+    private static final RedisScript<String> RESERVE_OR_GET = new DefaultRedisScript<>("""
+            local existing = redis.call('GET', KEYS[1])
+            if existing then
+                return existing
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return false
+            """, String.class);
+
+    // Değer hâlâ bu isteğin ayırmasıysa süreyi uzatır; sonuç yazılmışsa dokunmaz
+    private static final RedisScript<Boolean> EXTEND_IF_RESERVED = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Boolean.class);
     
     @Autowired
     public RedisIdempotencyService(RedisTemplate<String, String> redisTemplate) {
@@ -51,4 +77,65 @@ public class RedisIdempotencyService implements IdempotencyService {
     public void removeKey(String key) {
         redisTemplate.delete(IDEMPOTENCY_KEY_PREFIX + key);
     }
+
+    @Override
+    public String reserveOrGet(String key, String reservation, Duration ttl) {
+        return redisTemplate.execute(RESERVE_OR_GET, List.of(IDEMPOTENCY_KEY_PREFIX + key),
+                reservation, String.valueOf(ttl.toMillis()));
+    }
+
+    @Override
+    public boolean extendReservation(String key, String reservation, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.execute(EXTEND_IF_RESERVED, List.of(IDEMPOTENCY_KEY_PREFIX + key),
+                reservation, String.valueOf(ttl.toMillis())));
+    }
+
+    @Override
+    public Map<String, String> getResults(Collection<String> keys) {
+        List<String> keyList = List.copyOf(keys);
+        // Tek MGET
+        List<String> values = redisTemplate.opsForValue()
+                .multiGet(keyList.stream().map(key -> IDEMPOTENCY_KEY_PREFIX + key).toList());
+        return zipNonNull(keyList, values);
+    }
+
+    @Override
+    public void markAllAsProcessed(Map<String, String> results, Duration ttl) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                results.forEach((key, result) -> operations.opsForValue().set(IDEMPOTENCY_KEY_PREFIX + key, result, ttl));
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public Map<String, String> reserveOrGetAll(Collection<String> keys, Duration ttl) {
+        List<String> keyList = List.copyOf(keys);
+        String ttlMillis = String.valueOf(ttl.toMillis());
+        // Her anahtar için script, hepsi tek pipeline'da
+        List<Object> values = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (String key : keyList) {
+                    operations.execute(RESERVE_OR_GET, List.of(IDEMPOTENCY_KEY_PREFIX + key), IN_PROGRESS, ttlMillis);
+                }
+                return null;
+            }
+        });
+        return zipNonNull(keyList, values);
+    }
+
+    private static Map<String, String> zipNonNull(List<String> keys, List<?> values) {
+        Map<String, String> results = new HashMap<>();
+        for (int i = 0; values != null && i < keys.size(); i++) {
+            if (values.get(i) != null) {
+                results.put(keys.get(i), values.get(i).toString());
+            }
+        }
+        return results;
+    }
 }
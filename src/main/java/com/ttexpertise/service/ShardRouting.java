@@ -0,0 +1,156 @@
+package com.ttexpertise.service;
+
+import com.ttexpertise.config.SqlStatementCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * carId'yi tutarlı hash (jump consistent hash) ile bir veritabanı shard'ına eşler ve çalışan thread'in shard'ını
+ * tutar; shard yönlendirmeli DataSource bağlantı alırken {@link #currentShard()}'a bakar. Fiziksel bağlantı ilk
+ * sorguda alındığından transaction içinde çağrılması da yeterlidir. Sharding kapalıyken tek shard (0) vardır.
+ */
+@Service
+public class ShardRouting {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int shardCount;
+
+    public ShardRouting(@Value("${expertise.sharding.enabled:false}") boolean enabled,
+                        @Value("${expertise.sharding.urls:}") List<String> urls) {
+        if (enabled && urls.isEmpty()) {
+            throw new IllegalArgumentException("expertise.sharding.urls en az bir veritabanı içermeli");
+        }
+        this.shardCount = enabled ? urls.size() : 1;
+    }
+
+    /**
+     * Mevcut thread'in shard'ı; araçtan bağımsız işlerde (soru kataloğu) null'dır ve ilk shard kullanılır.
+     */
+    public static Integer currentShard() {
+        return CURRENT.get();
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(String carId) {
+        return shardCount == 1 ? 0 : jumpConsistentHash(fnv1a(carId), shardCount);
+    }
+
+    public <T> T forCar(String carId, Supplier<T> work) {
+        return forShard(shardOf(carId), work);
+    }
+
+    public <T> T forShard(int shard, Supplier<T> work) {
+        if (shardCount == 1) {
+            return work.get();
+        }
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Öğeleri araçlarının shard'ına göre gruplar; grup içi sıra korunur, gruplar shard sırasıyla döner.
+     */
+    public <E> Map<Integer, List<E>> groupByShard(Collection<E> items, Function<E, String> carIdOf) {
+        if (shardCount == 1) {
+            return items.isEmpty() ? Map.of() : Map.of(0, new ArrayList<>(items));
+        }
+        Map<Integer, List<E>> groups = new TreeMap<>();
+        for (E item : items) {
+            groups.computeIfAbsent(shardOf(carIdOf.apply(item)), shard -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+
+    /**
+     * İşi verilen shard'larda çalıştırır; birden fazla shard varsa her biri kendi sanal thread'inde paralel çalışır.
+     * Sonuçlar shard sırasıyla döner; ilk hata aynen fırlatılır. Paralel işlerin SQL'leri çağıranın istek başına
+     * sayımına eklenir.
+     */
+    public <T> Map<Integer, T> scatter(Collection<Integer> shards, IntFunction<T> work) {
+        Map<Integer, T> results = new LinkedHashMap<>();
+        if (shards.isEmpty()) {
+            return results;
+        }
+        if (shards.size() == 1) {
+            int shard = shards.iterator().next();
+            results.put(shard, forShard(shard, () -> work.apply(shard)));
+            return results;
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Map<Integer, Future<T>> futures = new LinkedHashMap<>();
+            for (int shard : shards) {
+                futures.put(shard, executor.submit(
+                        SqlStatementCounter.propagate(() -> forShard(shard, () -> work.apply(shard)))));
+            }
+            for (Map.Entry<Integer, Future<T>> future : futures.entrySet()) {
+                results.put(future.getKey(), future.getValue().get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Shard sorguları kesildi", e);
+        }
+        return results;
+    }
+
+    public List<Integer> allShards() {
+        List<Integer> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    private static long fnv1a(String carId) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : carId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Lamping & Veach: shard eklenince yalnızca ~1/n anahtar yer değiştirir
+    private static int jumpConsistentHash(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+}
@@ -0,0 +1,78 @@
+package com.ttexpertise.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Servis içi aşama süreleri: {@code expertise.stage} timer'ı ({@code operation}, {@code stage} etiketli, yüzdelik
+ * histogramlı) ve aynı aralık için bir JFR {@link ExpertiseStageEvent}. Etiket değerleri sabit isimlerdir.
+ */
+@Component
+public class StageMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public StageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T record(String operation, String stage, Supplier<T> action) {
+        Span span = start(operation, stage);
+        try {
+            return action.get();
+        } finally {
+            span.end();
+        }
+    }
+
+    public void record(String operation, String stage, Runnable action) {
+        Span span = start(operation, stage);
+        try {
+            action.run();
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Başlangıcı ve bitişi farklı yerlerde olan aşamalar (ör. transaction commit'i) için.
+     */
+    public Span start(String operation, String stage) {
+        return new Span(timer(operation, stage), new ExpertiseStageEvent(operation, stage));
+    }
+
+    private Timer timer(String operation, String stage) {
+        return timers.computeIfAbsent(operation + '/' + stage, key -> Timer.builder("expertise.stage")
+                .description("Ekspertiz servis aşaması süresi")
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public static final class Span {
+
+        private final Timer timer;
+        private final ExpertiseStageEvent event;
+        private final long startNanos;
+
+        private Span(Timer timer, ExpertiseStageEvent event) {
+            this.timer = timer;
+            this.event = event;
+            event.begin();
+            this.startNanos = System.nanoTime();
+        }
+
+        public void end() {
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            event.commit();
+        }
+    }
+}
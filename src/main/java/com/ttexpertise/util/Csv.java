@@ -0,0 +1,26 @@
+package com.ttexpertise.util;
+
+/**
+ * RFC 4180 / PostgreSQL {@code COPY ... (FORMAT csv)} uyumlu alan yazımı.
+ * null değer tırnaksız boş alan olarak yazılır; COPY bunu NULL olarak okur.
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    public static StringBuilder appendField(StringBuilder out, String value) {
+        if (value == null) {
+            return out;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        return out.append('"');
+    }
+}
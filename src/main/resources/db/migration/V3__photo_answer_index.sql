@@ -0,0 +1,4 @@
+-- photo -> answer join'leri (tek araç ve toplu okuma) için; FK kolonu indekslenmemişti.
+-- CONCURRENTLY ile photo'ya yazma engellenmez; bu yüzden betik transaction dışında çalışır (.sql.conf).
+-- Yarıda kalırsa geçersiz index önce DROP INDEX CONCURRENTLY ile silinmelidir
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_photo_answer ON photo(answer_id);
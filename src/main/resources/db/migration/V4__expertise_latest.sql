@@ -0,0 +1,22 @@
+-- Araç başına en son ekspertizin cevap/fotoğraf özeti; okuma tek primary key araması olur.
+CREATE TABLE expertise_latest (
+                                  car_id VARCHAR(64) PRIMARY KEY,
+                                  expertise_id UUID NOT NULL REFERENCES expertise(id) ON DELETE CASCADE,
+                                  created_at TIMESTAMPTZ NOT NULL,
+                                  answers JSONB NOT NULL
+);
+
+-- Mevcut veri için ilk doldurma; sonradan onarım /actuator/expertiselatest ile parça parça yapılır
+INSERT INTO expertise_latest (car_id, expertise_id, created_at, answers)
+SELECT e.car_id, e.id, e.created_at,
+       COALESCE((SELECT jsonb_agg(jsonb_build_object(
+                            'questionId', a.question_id,
+                            'answeredYes', a.value,
+                            'description', a.description,
+                            'photoUrls', COALESCE((SELECT jsonb_agg(p.url) FROM photo p WHERE p.answer_id = a.id), '[]'::jsonb))
+                        ORDER BY a.question_id)
+                 FROM answer a
+                 WHERE a.expertise_id = e.id), '[]'::jsonb)
+FROM (SELECT DISTINCT ON (x.car_id) x.id, x.car_id, x.created_at
+      FROM expertise x
+      ORDER BY x.car_id, x.created_at DESC) e;
@@ -0,0 +1,38 @@
+-- Değişiklik akışı (mobil senkronizasyon) için satırı yazan transaction'ın id'si.
+-- Sequence commit sırasını garanti etmez: düşük numaralı satır sonra commit olup atlanabilir.
+-- Akış yalnızca en eski açık transaction'dan (pg_snapshot_xmin) küçük id'leri döner; bunlar bitmiştir
+-- ve yeni transaction'lar daha büyük id alır, böylece (change_txid, id) cursor'ının gerisine satır düşmez.
+-- COPY ve JPA insert'leri kolonu vermez, varsayılan değer yazan transaction'da hesaplanır.
+--
+-- pg_current_xact_id() volatile olduğundan "ADD COLUMN ... DEFAULT" tabloyu ACCESS EXCLUSIVE kilit altında
+-- yeniden yazar. Bunun yerine kolon boş eklenir, varsayılan yalnızca yeni satırlar için tanımlanır, mevcut
+-- satırlar parça parça (her parça kendi transaction'ında) doldurulur, NOT NULL önceden doğrulanmış CHECK ile
+-- tablo taranmadan konur ve index'ler CONCURRENTLY oluşturulur. Bu yüzden betik transaction dışında çalışır
+-- (V5__expertise_change_feed.sql.conf).
+ALTER TABLE expertise ADD COLUMN IF NOT EXISTS change_txid BIGINT;
+ALTER TABLE expertise ALTER COLUMN change_txid SET DEFAULT (pg_current_xact_id()::text::bigint);
+
+DO $$
+DECLARE
+    updated INTEGER;
+BEGIN
+    LOOP
+        UPDATE expertise
+        SET change_txid = pg_current_xact_id()::text::bigint
+        WHERE id IN (SELECT id FROM expertise WHERE change_txid IS NULL LIMIT 10000);
+        GET DIAGNOSTICS updated = ROW_COUNT;
+        EXIT WHEN updated = 0;
+        COMMIT;
+    END LOOP;
+END
+$$;
+
+-- VALIDATE yalnızca SHARE UPDATE EXCLUSIVE alır; SET NOT NULL geçerli CHECK'i görüp taramayı atlar
+ALTER TABLE expertise DROP CONSTRAINT IF EXISTS expertise_change_txid_not_null;
+ALTER TABLE expertise ADD CONSTRAINT expertise_change_txid_not_null CHECK (change_txid IS NOT NULL) NOT VALID;
+ALTER TABLE expertise VALIDATE CONSTRAINT expertise_change_txid_not_null;
+ALTER TABLE expertise ALTER COLUMN change_txid SET NOT NULL;
+ALTER TABLE expertise DROP CONSTRAINT expertise_change_txid_not_null;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expertise_change ON expertise(change_txid, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expertise_car_change ON expertise(car_id, change_txid, id);
@@ -0,0 +1,5 @@
+-- Tarih aralığı dışa aktarımı (created_at, id) sırasıyla akar; index sıralı okuma sağlar,
+-- milyonlarca satırlık sort yapılmaz ve ilk satırlar sorgu biter bitmez değil hemen gelir.
+-- CONCURRENTLY ile expertise'e yazma engellenmez; bu yüzden betik transaction dışında çalışır (.sql.conf).
+-- Yarıda kalırsa geçersiz index önce DROP INDEX CONCURRENTLY ile silinmelidir
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expertise_created ON expertise(created_at, id);
@@ -0,0 +1,148 @@
+package com.ttexpertise.business.impl;
+
+import com.ttexpertise.model.dto.ExpertiseChangePage;
+import com.ttexpertise.model.entity.Expertise;
+import com.ttexpertise.model.entity.Question;
+import com.ttexpertise.model.projection.HistoryAnswerRow;
+import com.ttexpertise.repository.AnswerRepository;
+import com.ttexpertise.repository.ExpertiseRepository;
+import com.ttexpertise.service.QuestionCatalog;
+import com.ttexpertise.service.ShardRouting;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpertiseChangeFeedServiceImplTest {
+
+    @Mock
+    private ExpertiseRepository expertiseRepository;
+
+    @Mock
+    private AnswerRepository answerRepository;
+
+    @Mock
+    private QuestionCatalog questionCatalog;
+
+    @Spy
+    private ShardRouting shardRouting = new ShardRouting(false, List.of());
+
+    @InjectMocks
+    private ExpertiseChangeFeedServiceImpl changeFeedService;
+
+    @Test
+    void shouldStartFromBeginningAndReturnTokenOfLastItem() {
+        // Given - limit 2 için 3 değişiklik gelir, üçüncüsü devamı olduğunu gösterir
+        Question question1 = new Question();
+        question1.setId(1L);
+        question1.setText("Multimedyada problem var mı?");
+        question1.setActive(true);
+        Expertise first = expertise("CAR1", 100L);
+        Expertise second = expertise("CAR2", 101L);
+        Expertise third = expertise("CAR1", 102L);
+
+        when(questionCatalog.current())
+            .thenReturn(QuestionCatalog.Snapshot.of(1, List.of(question1)));
+        when(expertiseRepository.findChangesAfter(ChangeFeedToken.START.txid(), ChangeFeedToken.START.id(), 3))
+            .thenReturn(List.of(first, second, third));
+        when(answerRepository.findRowsByExpertiseIdIn(List.of(first.getId(), second.getId())))
+            .thenReturn(List.of(new HistoryRow(first.getId(), 1L, true, null, "photo1.jpg")));
+
+        // When
+        ExpertiseChangePage page = changeFeedService.changesSince(null, null, 2);
+
+        // Then
+        assertThat(page.items()).extracting(ExpertiseChangePage.Entry::carId).containsExactly("CAR1", "CAR2");
+        assertThat(page.items().get(0).answers()).singleElement()
+            .satisfies(answer -> assertThat(answer.photoUrls()).containsExactly("photo1.jpg"));
+        assertThat(page.items().get(1).answers()).isEmpty();
+        assertThat(page.hasMore()).isTrue();
+        assertThat(ChangeFeedToken.decode(page.nextSince())).isEqualTo(new ChangeFeedToken(101L, second.getId()));
+    }
+
+    @Test
+    void shouldKeepTokenWhenNothingChangedForFilteredCars() {
+        // Given
+        ChangeFeedToken since = new ChangeFeedToken(101L, UUID.randomUUID());
+        when(expertiseRepository.findChangesForCarsAfter(List.of("CAR1"), 101L, since.id(), 101))
+            .thenReturn(List.of());
+
+        // When
+        ExpertiseChangePage page = changeFeedService.changesSince(since.encode(), List.of("CAR1"), 100);
+
+        // Then - boş yoklama cevap sorgusu yapmaz, istemci aynı token ile devam eder
+        assertThat(page.items()).isEmpty();
+        assertThat(page.hasMore()).isFalse();
+        assertThat(ChangeFeedToken.decode(page.nextSince())).isEqualTo(since);
+        verify(expertiseRepository, never()).findChangesAfter(anyLong(), any(), anyInt());
+        verifyNoInteractions(answerRepository);
+    }
+
+    @Test
+    void shouldMergeShardsByCreatedAtAndAdvanceOnlyConsumedPositions() {
+        // Given - shard 0'da iki, shard 1'de bir değişiklik; limit 2
+        ExpertiseChangeFeedServiceImpl shardedService = new ExpertiseChangeFeedServiceImpl(expertiseRepository,
+                answerRepository, questionCatalog, new ShardRouting(true, List.of("jdbc:postgresql://shard0/db", "jdbc:postgresql://shard1/db")));
+        Instant now = Instant.now();
+        Expertise first = expertise("CAR1", 100L);
+        first.setCreatedAt(now.minusSeconds(3));
+        Expertise second = expertise("CAR2", 7L);
+        second.setCreatedAt(now.minusSeconds(2));
+        Expertise third = expertise("CAR1", 101L);
+        third.setCreatedAt(now.minusSeconds(1));
+        when(questionCatalog.current()).thenReturn(QuestionCatalog.Snapshot.of(1, List.of()));
+        when(expertiseRepository.findChangesAfter(ChangeFeedToken.START.txid(), ChangeFeedToken.START.id(), 3))
+            .thenAnswer(inv -> ShardRouting.currentShard() == 0 ? List.of(first, third) : List.of(second));
+
+        // When
+        ExpertiseChangePage page = shardedService.changesSince(null, null, 2);
+
+        // Then - sayfa shard'lar arasında created_at sırasıyla dolar, her shard'ın konumu ayrı ilerler
+        assertThat(page.items()).extracting(ExpertiseChangePage.Entry::expertiseId).containsExactly(first.getId(), second.getId());
+        assertThat(page.hasMore()).isTrue();
+        assertThat(ChangeFeedToken.decodeAll(page.nextSince(), 2))
+            .containsExactly(new ChangeFeedToken(100L, first.getId()), new ChangeFeedToken(7L, second.getId()));
+        assertThatThrownBy(() -> changeFeedService.changesSince(page.nextSince(), null, 2))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectInvalidTokenLimitAndTooManyCarIds() {
+        // When & Then
+        assertThatThrownBy(() -> changeFeedService.changesSince("not-a-token", null, 100))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("since");
+        assertThatThrownBy(() -> changeFeedService.changesSince(null, null, ExpertiseChangeFeedServiceImpl.MAX_PAGE_SIZE + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> changeFeedService.changesSince(null,
+                Collections.nCopies(ExpertiseChangeFeedServiceImpl.MAX_CAR_IDS + 1, "CAR1"), 100))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(expertiseRepository);
+    }
+
+    private static Expertise expertise(String carId, long changeTxid) {
+        Expertise expertise = new Expertise();
+        expertise.setId(UUID.randomUUID());
+        expertise.setCarId(carId);
+        expertise.setCreatedAt(Instant.now());
+        expertise.setChangeTxid(changeTxid);
+        return expertise;
+    }
+
+    private record HistoryRow(UUID getExpertiseId, Long getQuestionId, Boolean getAnsweredYes,
+                              String getDescription, String getPhotoUrl) implements HistoryAnswerRow {
+    }
+}
@@ -0,0 +1,134 @@
+package com.ttexpertise.business.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ttexpertise.model.dto.ExpertiseExportRow;
+import com.ttexpertise.model.dto.ExportFormat;
+import com.ttexpertise.repository.ExpertiseExportRepository;
+import com.ttexpertise.service.ShardRouting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpertiseExportServiceImplTest {
+
+    private static final Instant FROM = Instant.parse("2025-03-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-04-01T00:00:00Z");
+    private static final UUID EXPERTISE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    // İşaretli karşılaştırmada EXPERTISE_ID'den önce, PostgreSQL sırasında sonra gelir
+    private static final UUID HIGH_EXPERTISE_ID = UUID.fromString("ffffffff-0000-0000-0000-000000000000");
+
+    @Mock
+    private ExpertiseExportRepository exportRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ObjectMapper objectMapper;
+
+    private ExpertiseExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExpertiseExportServiceImpl(exportRepository, transactionManager, objectMapper,
+                new ShardRouting(false, List.of()));
+        when(exportRepository.stream(eq(FROM), eq(TO), any())).thenAnswer(inv -> {
+            Consumer<ExpertiseExportRow> sink = inv.getArgument(2);
+            // Sharding açıkken ikinci shard'ın tek satırı; kapalıyken shard seçilmez
+            if (Integer.valueOf(1).equals(ShardRouting.currentShard())) {
+                sink.accept(new ExpertiseExportRow(HIGH_EXPERTISE_ID, "CAR2", FROM, null, null, null, null));
+                return 1L;
+            }
+            sink.accept(new ExpertiseExportRow(EXPERTISE_ID, "CAR1", FROM, 1L, true, "Çizik, \"derin\"", "photo1.jpg"));
+            sink.accept(new ExpertiseExportRow(EXPERTISE_ID, "CAR1", FROM, 2L, false, null, null));
+            return 2L;
+        });
+    }
+
+    @Test
+    void shouldWriteCsvWithHeaderAndEscapedFields() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = exportService.export(FROM, TO, ExportFormat.CSV, out);
+
+        // Then - okuma salt okunur transaction içinde yapılır
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(ExpertiseExportServiceImpl.CSV_HEADER
+                + EXPERTISE_ID + ",\"CAR1\",2025-03-01T00:00:00Z,1,true,\"Çizik, \"\"derin\"\"\",\"photo1.jpg\"\n"
+                + EXPERTISE_ID + ",\"CAR1\",2025-03-01T00:00:00Z,2,false,,\n");
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.export(FROM, TO, ExportFormat.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"expertiseId\":\"" + EXPERTISE_ID + "\"").contains("\"photoUrl\":\"photo1.jpg\"");
+        assertThat(lines[1]).contains("\"questionId\":2", "\"photoUrl\":null");
+    }
+
+    @Test
+    void shouldPropagateClientDisconnectAsIOException() {
+        // Given - istemci bağlantıyı kapattı
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When & Then - yazma tamponu dolmadan hata flush'ta görülür
+        assertThatThrownBy(() -> exportService.export(FROM, TO, ExportFormat.CSV, closed))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    @Test
+    void shouldMergeShardsInCreatedAtAndIdOrder() throws IOException {
+        // Given - iki shard, her biri kendi salt okunur transaction'ında okunur
+        ExpertiseExportServiceImpl shardedService = new ExpertiseExportServiceImpl(exportRepository, transactionManager,
+                objectMapper, new ShardRouting(true, List.of("jdbc:postgresql://shard0/db", "jdbc:postgresql://shard1/db")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = shardedService.export(FROM, TO, ExportFormat.CSV, out);
+
+        // Then - aynı created_at'te uuid işaretsiz sıralanır, bir ekspertizin satırları bölünmez
+        assertThat(rows).isEqualTo(3);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines().skip(1).map(line -> line.substring(0, line.indexOf(','))))
+                .containsExactly(EXPERTISE_ID.toString(), EXPERTISE_ID.toString(), HIGH_EXPERTISE_ID.toString());
+        verify(transactionManager, times(2)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+}
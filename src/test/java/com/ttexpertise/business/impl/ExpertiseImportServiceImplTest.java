@@ -0,0 +1,163 @@
+package com.ttexpertise.business.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ttexpertise.model.dto.ImportLineResult;
+import com.ttexpertise.model.dto.ImportSummary;
+import com.ttexpertise.model.entity.Question;
+import com.ttexpertise.model.event.ExpertiseCreatedEvent;
+import com.ttexpertise.repository.ExpertiseCopyRepository;
+import com.ttexpertise.repository.ExpertiseLatestRepository;
+import com.ttexpertise.service.QuestionCatalog;
+import com.ttexpertise.service.ShardRouting;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpertiseImportServiceImplTest {
+
+    private static final String VALID = "{\"carId\":\"CAR%d\",\"answers\":[{\"questionId\":1,\"value\":false,\"photoUrls\":[]}]}";
+
+    @Mock
+    private QuestionCatalog questionCatalog;
+
+    @Mock
+    private ExpertiseCopyRepository copyRepository;
+
+    @Mock
+    private ExpertiseLatestRepository latestRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ExpertiseImportServiceImpl importService;
+    private final List<ImportLineResult> results = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Question question = new Question();
+        question.setId(1L);
+        question.setText("Kaputta göçük var mı?");
+        when(questionCatalog.current()).thenReturn(QuestionCatalog.Snapshot.of(1, List.of(question)));
+
+        importService = new ExpertiseImportServiceImpl(new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), questionCatalog, copyRepository, latestRepository,
+                new TransactionTemplate(transactionManager), eventPublisher, new ShardRouting(false, List.of()), 2, 1024);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWriteValidLinesInChunksAndReportEachLine() throws Exception {
+        // Given
+        String body = String.join("\n",
+                VALID.formatted(1),
+                VALID.formatted(2),
+                "",
+                VALID.formatted(3));
+
+        // When
+        ImportSummary summary = importService.importNdjson(new BufferedReader(new StringReader(body)), results::add);
+
+        // Then - 2'lik parçalar: [1,2] ve [4]
+        assertThat(summary).isEqualTo(new ImportSummary(4, 3, 0, 0));
+        ArgumentCaptor<List<ExpertiseCopyRepository.PendingExpertise>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(copyRepository, times(2)).copy(chunks.capture());
+        assertThat(chunks.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(results).extracting(ImportLineResult::line).containsExactly(1L, 2L, 4L);
+        assertThat(results).allSatisfy(result -> assertThat(result.status()).isEqualTo(ImportLineResult.Status.CREATED));
+        verify(eventPublisher, times(3)).publishEvent(any(ExpertiseCreatedEvent.class));
+        verify(latestRepository).refreshForCars(List.of("CAR1", "CAR2"));
+        verify(latestRepository).refreshForCars(List.of("CAR3"));
+    }
+
+    @Test
+    void shouldRejectInvalidLinesWithTheSameRulesAsCreate() throws Exception {
+        // Given
+        String body = String.join("\n",
+                "{not json",
+                "{\"carId\":\"\",\"answers\":[{\"questionId\":1,\"value\":false}]}",
+                "{\"carId\":\"CAR1\",\"answers\":[{\"questionId\":1,\"value\":true,\"photoUrls\":[]}]}",
+                "{\"carId\":\"CAR1\",\"answers\":[{\"questionId\":9,\"value\":false}]}");
+
+        // When
+        ImportSummary summary = importService.importNdjson(new BufferedReader(new StringReader(body)), results::add);
+
+        // Then
+        assertThat(summary).isEqualTo(new ImportSummary(4, 0, 4, 0));
+        assertThat(results).extracting(ImportLineResult::status).containsOnly(ImportLineResult.Status.REJECTED);
+        assertThat(results.get(1).error()).startsWith("carId: ");
+        assertThat(results.get(2).error()).isEqualTo("Evet seçilince en az 1 fotoğraf gerekli");
+        assertThat(results.get(3).error()).isEqualTo("Question not found: 9");
+        verifyNoInteractions(copyRepository);
+    }
+
+    @Test
+    void shouldRejectMissingAnswerFieldsAndTooLongCarIdPerLine() throws Exception {
+        // Given - cevapta value yok; carId kolonun 64 karakter sınırını aşıyor
+        String body = String.join("\n",
+                "{\"carId\":\"C\",\"answers\":[{\"questionId\":1}]}",
+                "{\"carId\":\"" + "C".repeat(65) + "\",\"answers\":[{\"questionId\":1,\"value\":false}]}",
+                VALID.formatted(1));
+
+        // When
+        ImportSummary summary = importService.importNdjson(new BufferedReader(new StringReader(body)), results::add);
+
+        // Then - hatalı satırlar reddedilir, geçerli satır yazılır
+        assertThat(summary).isEqualTo(new ImportSummary(3, 1, 2, 0));
+        assertThat(results.get(0).error()).startsWith("answers[0].value: ");
+        assertThat(results.get(1).error()).startsWith("carId: ");
+        assertThat(results.get(2).status()).isEqualTo(ImportLineResult.Status.CREATED);
+    }
+
+    @Test
+    void shouldRejectTooLongLineWithoutBufferingItAndContinue() throws Exception {
+        // Given - 1 KB sınırını aşan satırın ardından geçerli satırlar, biri CRLF ile
+        String body = VALID.formatted(1) + "\r\n"
+                + "{\"carId\":\"" + "ç".repeat(600) + "\"}\n"
+                + VALID.formatted(2);
+
+        // When
+        ImportSummary summary = importService.importNdjson(new BufferedReader(new StringReader(body)), results::add);
+
+        // Then - 600 'ç' 1200 byte eder; yalnızca o satır reddedilir
+        assertThat(summary).isEqualTo(new ImportSummary(3, 2, 1, 0));
+        assertThat(results).extracting(ImportLineResult::line).containsExactly(2L, 1L, 3L);
+        assertThat(results.get(0).error()).isEqualTo("Satır 1024 byte sınırını aşıyor");
+    }
+
+    @Test
+    void shouldReportWholeChunkAsFailedWhenCopyFails() throws Exception {
+        // Given
+        doThrow(new DataIntegrityViolationException("duplicate key")).when(copyRepository).copy(anyList());
+
+        // When
+        ImportSummary summary = importService.importNdjson(
+                new BufferedReader(new StringReader(VALID.formatted(1) + "\n" + VALID.formatted(2))), results::add);
+
+        // Then
+        assertThat(summary).isEqualTo(new ImportSummary(2, 0, 0, 2));
+        assertThat(results).extracting(ImportLineResult::status).containsOnly(ImportLineResult.Status.FAILED);
+        verify(transactionManager).rollback(any());
+    }
+}
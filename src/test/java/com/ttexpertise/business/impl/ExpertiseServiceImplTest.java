@@ -1,28 +1,52 @@
 package com.ttexpertise.business.impl;
 
 import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.model.dto.EncodedReadResponse;
+import com.ttexpertise.model.dto.ExpertiseHistoryPage;
+import com.ttexpertise.model.dto.ReadExpertiseDelta;
 import com.ttexpertise.model.dto.ReadExpertiseResponse;
 import com.ttexpertise.model.entity.Answer;
 import com.ttexpertise.model.entity.Expertise;
+import com.ttexpertise.model.entity.ExpertiseLatest;
 import com.ttexpertise.model.entity.Photo;
 import com.ttexpertise.model.entity.Question;
+import com.ttexpertise.model.event.ExpertiseCreatedEvent;
+import com.ttexpertise.model.projection.HistoryAnswerRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ttexpertise.repository.AnswerRepository;
+import com.ttexpertise.repository.ExpertiseLatestRepository;
 import com.ttexpertise.repository.ExpertiseRepository;
 import com.ttexpertise.repository.PhotoRepository;
 import com.ttexpertise.repository.QuestionRepository;
+import com.ttexpertise.service.ExpertiseReadCache;
+import com.ttexpertise.service.QuestionCatalog;
+import com.ttexpertise.service.ReadYourWrites;
+import com.ttexpertise.service.ShardRouting;
+import com.ttexpertise.service.StageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,15 +58,36 @@ class ExpertiseServiceImplTest {
     @Mock
     private QuestionRepository questionRepository;
     
+    @Mock
+    private ExpertiseLatestRepository latestRepository;
+    
     @Mock
     private AnswerRepository answerRepository;
     
     @Mock
     private PhotoRepository photoRepository;
     
-    @InjectMocks
+    @Mock
+    private QuestionCatalog questionCatalog;
+    
+    @Mock
+    private ExpertiseReadCache readCache;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    private SimpleMeterRegistry meterRegistry;
     private ExpertiseServiceImpl expertiseService;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        expertiseService = new ExpertiseServiceImpl(expertiseRepository, questionRepository, latestRepository,
+                answerRepository, questionCatalog, readCache, eventPublisher, new ObjectMapper(),
+                new StageMetrics(meterRegistry), new ReadYourWrites(false, Duration.ofSeconds(5)),
+                new ShardRouting(false, List.of()));
+    }
+
     @Test
     void shouldCreateExpertise() {
         // Given
@@ -60,20 +105,33 @@ class ExpertiseServiceImplTest {
         Expertise savedExpertise = new Expertise();
         savedExpertise.setId(UUID.randomUUID());
         
-        when(questionRepository.findById(1L)).thenReturn(Optional.of(question));
+        when(questionCatalog.current()).thenReturn(QuestionCatalog.Snapshot.of(1, List.of(question)));
+        when(questionRepository.getReferenceById(1L)).thenReturn(question);
         when(expertiseRepository.save(any(Expertise.class))).thenReturn(savedExpertise);
-        when(answerRepository.save(any(Answer.class))).thenReturn(new Answer());
-        when(photoRepository.save(any(Photo.class))).thenReturn(new Photo());
         
         // When
         UUID result = expertiseService.create(request);
         
         // Then
         assertThat(result).isNotNull();
-        verify(expertiseRepository).save(any(Expertise.class));
-        verify(questionRepository).findById(1L);
-        verify(answerRepository).save(any(Answer.class));
-        verify(photoRepository, times(2)).save(any(Photo.class));
+        verify(questionRepository).getReferenceById(1L);
+        verify(questionRepository, never()).findById(any());
+        ArgumentCaptor<Expertise> saved = ArgumentCaptor.forClass(Expertise.class);
+        verify(expertiseRepository).save(saved.capture());
+        assertThat(saved.getValue().getCarId()).isEqualTo("car123");
+        assertThat(saved.getValue().getAnswers()).hasSize(1);
+        Answer answer = saved.getValue().getAnswers().get(0);
+        assertThat(answer.getExpertise()).isSameAs(saved.getValue());
+        assertThat(answer.getPhotos()).extracting(Photo::getUrl).containsExactly("photo1.jpg", "photo2.jpg");
+        assertThat(answer.getPhotos()).allSatisfy(photo -> assertThat(photo.getAnswer()).isSameAs(answer));
+        verifyNoInteractions(photoRepository);
+        verify(latestRepository).upsert("car123", savedExpertise.getId(), savedExpertise.getCreatedAt(),
+            "[{\"questionId\":1,\"answeredYes\":true,\"description\":\"Problem var\",\"photoUrls\":[\"photo1.jpg\",\"photo2.jpg\"]}]");
+        verify(eventPublisher).publishEvent(new ExpertiseCreatedEvent(savedExpertise.getId(), "car123"));
+        verify(expertiseRepository).flush();
+        assertThat(meterRegistry.find("expertise.stage").tag("operation", "create").timers())
+            .extracting(timer -> timer.getId().getTag("stage"))
+            .containsExactlyInAnyOrder("validation", "mapping", "persist", "insert", "latest_upsert");
     }
 
     @Test
@@ -86,6 +144,8 @@ class ExpertiseServiceImplTest {
             ))
         );
         
+        when(questionCatalog.current()).thenReturn(QuestionCatalog.Snapshot.of(1, List.of()));
+        
         // When & Then
         assertThatThrownBy(() -> expertiseService.create(request))
             .isInstanceOf(IllegalArgumentException.class)
@@ -102,12 +162,33 @@ class ExpertiseServiceImplTest {
             ))
         );
         
+        when(questionCatalog.current()).thenReturn(QuestionCatalog.Snapshot.of(1, List.of()));
+        
         // When & Then
         assertThatThrownBy(() -> expertiseService.create(request))
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessage("En fazla 3 fotoğraf yüklenebilir");
     }
 
+    @Test
+    void shouldRejectQuestionMissingFromCatalog() {
+        // Given
+        CreateExpertiseRequest request = new CreateExpertiseRequest(
+            "car123",
+            List.of(new CreateExpertiseRequest.AnswerPayload(
+                99L, false, null, List.of()
+            ))
+        );
+        
+        when(questionCatalog.current()).thenReturn(QuestionCatalog.Snapshot.of(1, List.of()));
+        
+        // When & Then
+        assertThatThrownBy(() -> expertiseService.create(request))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Question not found: 99");
+        verify(expertiseRepository, never()).save(any(Expertise.class));
+    }
+
     @Test
     void shouldCreateExpertiseWithNoAnswer() {
         // Given
@@ -125,19 +206,21 @@ class ExpertiseServiceImplTest {
         Expertise savedExpertise = new Expertise();
         savedExpertise.setId(UUID.randomUUID());
         
-        when(questionRepository.findById(1L)).thenReturn(Optional.of(question));
+        when(questionCatalog.current()).thenReturn(QuestionCatalog.Snapshot.of(1, List.of(question)));
+        when(questionRepository.getReferenceById(1L)).thenReturn(question);
         when(expertiseRepository.save(any(Expertise.class))).thenReturn(savedExpertise);
-        when(answerRepository.save(any(Answer.class))).thenReturn(new Answer());
         
         // When
         UUID result = expertiseService.create(request);
         
         // Then
         assertThat(result).isNotNull();
-        verify(expertiseRepository).save(any(Expertise.class));
-        verify(questionRepository).findById(1L);
-        verify(answerRepository).save(any(Answer.class));
-        verify(photoRepository, never()).save(any(Photo.class)); // Fotoğraf kaydedilmemeli
+        verify(questionRepository).getReferenceById(1L);
+        verify(questionRepository, never()).findById(any());
+        ArgumentCaptor<Expertise> saved = ArgumentCaptor.forClass(Expertise.class);
+        verify(expertiseRepository).save(saved.capture());
+        assertThat(saved.getValue().getAnswers()).hasSize(1);
+        assertThat(saved.getValue().getAnswers().get(0).getPhotos()).isEmpty(); // Fotoğraf kaydedilmemeli
     }
 
     @Test
@@ -155,10 +238,10 @@ class ExpertiseServiceImplTest {
         question2.setText("Ruhsatta eksiklik var mı?");
         question2.setActive(true);
         
-        when(questionRepository.findAllByActiveTrueOrderByIdAsc())
-            .thenReturn(List.of(question1, question2));
-        when(expertiseRepository.findTopByCarIdOrderByCreatedAtDesc(carId))
-            .thenReturn(Optional.empty());
+        when(questionCatalog.current())
+            .thenReturn(QuestionCatalog.Snapshot.of(1, List.of(question1, question2)));
+        when(latestRepository.findById(carId)).thenReturn(Optional.empty());
+        passThroughCache();
         
         // When
         ReadExpertiseResponse result = expertiseService.readForCar(carId);
@@ -169,6 +252,9 @@ class ExpertiseServiceImplTest {
         assertThat(result.items().get(0).questionId()).isEqualTo(1L);
         assertThat(result.items().get(0).text()).isEqualTo("Multimedyada problem var mı?");
         assertThat(result.items().get(0).previous().answeredYes()).isFalse();
+        assertThat(meterRegistry.find("expertise.stage").tag("operation", "read").timers())
+            .extracting(timer -> timer.getId().getTag("stage"))
+            .containsExactlyInAnyOrder("catalog", "latest_lookup", "mapping");
     }
 
     @Test
@@ -186,34 +272,13 @@ class ExpertiseServiceImplTest {
         question2.setText("Ruhsatta eksiklik var mı?");
         question2.setActive(true);
         
-        // Önceki ekspertiz
-        Expertise previousExpertise = new Expertise();
-        previousExpertise.setId(UUID.randomUUID());
-        previousExpertise.setCarId(carId);
-        
-        Answer previousAnswer = new Answer();
-        previousAnswer.setId(UUID.randomUUID());
-        previousAnswer.setValue(true);
-        previousAnswer.setDescription("Evet, problem var");
-        previousAnswer.setQuestion(question1);
-        
-        Photo photo1 = new Photo();
-        photo1.setId(UUID.randomUUID());
-        photo1.setUrl("photo1.jpg");
-        photo1.setAnswer(previousAnswer);
-        
-        Photo photo2 = new Photo();
-        photo2.setId(UUID.randomUUID());
-        photo2.setUrl("photo2.jpg");
-        photo2.setAnswer(previousAnswer);
-        
-        previousAnswer.setPhotos(List.of(photo1, photo2));
-        previousExpertise.setAnswers(List.of(previousAnswer));
-        
-        when(questionRepository.findAllByActiveTrueOrderByIdAsc())
-            .thenReturn(List.of(question1, question2));
-        when(expertiseRepository.findTopByCarIdOrderByCreatedAtDesc(carId))
-            .thenReturn(Optional.of(previousExpertise));
+        // Önceki ekspertiz: soru 1 için iki fotoğraflı "evet" cevabı
+        when(questionCatalog.current())
+            .thenReturn(QuestionCatalog.Snapshot.of(1, List.of(question1, question2)));
+        when(latestRepository.findById(carId))
+            .thenReturn(Optional.of(latest(carId,
+                new ExpertiseLatest.AnswerSnapshot(1L, true, "Evet, problem var", List.of("photo1.jpg", "photo2.jpg")))));
+        passThroughCache();
         
         // When
         ReadExpertiseResponse result = expertiseService.readForCar(carId);
@@ -235,4 +300,252 @@ class ExpertiseServiceImplTest {
         assertThat(secondQuestion.previous().answeredYes()).isFalse();
         assertThat(secondQuestion.previous().photoUrls()).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReadLatestExpertisesForManyCarsInOneQuery() {
+        // Given
+        Question question1 = new Question();
+        question1.setId(1L);
+        question1.setText("Multimedyada problem var mı?");
+        question1.setActive(true);
+        
+        when(questionCatalog.current())
+            .thenReturn(QuestionCatalog.Snapshot.of(1, List.of(question1)));
+        when(latestRepository.findAllById(any()))
+            .thenReturn(List.of(
+                latest("CAR1", new ExpertiseLatest.AnswerSnapshot(1L, true, "Çizik", List.of("photo1.jpg", "photo2.jpg")))
+            ));
+        passThroughBatchCache();
+        
+        // When
+        Map<String, ReadExpertiseResponse> result = expertiseService.readForCars(List.of("CAR1", "CAR2", "CAR1"));
+        
+        // Then
+        assertThat(result).containsOnlyKeys("CAR1", "CAR2");
+        assertThat(result.get("CAR1").items().get(0).previous().photoUrls()).containsExactly("photo1.jpg", "photo2.jpg");
+        assertThat(result.get("CAR2").items().get(0).previous().answeredYes()).isFalse();
+        verify(latestRepository, times(1)).findAllById(any());
+        verify(latestRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void shouldReturnOnlyChangedAnswersSinceKnownExpertise() {
+        // Given - soru 1 aynı (fotoğraf sırası farklı), soru 2 değişti, soru 3 iki sürümde de cevapsız
+        Question question1 = new Question();
+        question1.setId(1L);
+        question1.setText("Multimedyada problem var mı?");
+        question1.setActive(true);
+        Question question2 = new Question();
+        question2.setId(2L);
+        question2.setText("Ruhsatta eksiklik var mı?");
+        question2.setActive(true);
+        Question question3 = new Question();
+        question3.setId(3L);
+        question3.setText("Lastiklerde aşınma var mı?");
+        question3.setActive(true);
+        UUID knownId = UUID.randomUUID();
+        ExpertiseLatest current = latest("CAR1",
+            new ExpertiseLatest.AnswerSnapshot(1L, true, "Çizik", List.of("photo1.jpg", "photo2.jpg")),
+            new ExpertiseLatest.AnswerSnapshot(2L, true, "Eksik", List.of("photo3.jpg")));
+
+        when(questionCatalog.current())
+            .thenReturn(QuestionCatalog.Snapshot.of(1, List.of(question1, question2, question3)));
+        when(latestRepository.findById("CAR1")).thenReturn(Optional.of(current));
+        when(expertiseRepository.findCarIdById(knownId)).thenReturn(Optional.of("CAR1"));
+        when(answerRepository.findRowsByExpertiseIdIn(List.of(knownId)))
+            .thenReturn(List.of(
+                historyRow(knownId, 1L, true, "photo2.jpg", "Çizik"),
+                historyRow(knownId, 1L, true, "photo1.jpg", "Çizik"),
+                historyRow(knownId, 2L, false, null, null)
+            ));
+        passThroughCache();
+
+        // When
+        ReadExpertiseDelta delta = expertiseService.readDeltaForCar("CAR1", knownId);
+
+        // Then
+        assertThat(delta.unchanged()).isFalse();
+        assertThat(delta.expertiseId()).isEqualTo(current.getExpertiseId());
+        assertThat(delta.baseExpertiseId()).isEqualTo(knownId);
+        assertThat(delta.changed()).singleElement().satisfies(item -> {
+            assertThat(item.questionId()).isEqualTo(2L);
+            assertThat(item.previous().photoUrls()).containsExactly("photo3.jpg");
+        });
+        assertThat(delta.questionIds()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void shouldReportUnchangedWhenClientHasLatestExpertise() {
+        // Given
+        ExpertiseLatest current = latest("CAR1");
+        when(questionCatalog.current())
+            .thenReturn(QuestionCatalog.Snapshot.of(1, List.of()));
+        when(latestRepository.findById("CAR1")).thenReturn(Optional.of(current));
+        passThroughCache();
+
+        // When
+        ReadExpertiseDelta delta = expertiseService.readDeltaForCar("CAR1", current.getExpertiseId());
+
+        // Then - bilinen ekspertizin cevapları okunmaz
+        assertThat(delta.unchanged()).isTrue();
+        assertThat(delta.changed()).isEmpty();
+        verifyNoInteractions(answerRepository);
+    }
+
+    @Test
+    void shouldRejectDeltaBaseFromAnotherCar() {
+        // Given
+        UUID otherCarsExpertise = UUID.randomUUID();
+        when(questionCatalog.current())
+            .thenReturn(QuestionCatalog.Snapshot.of(1, List.of()));
+        when(latestRepository.findById("CAR1")).thenReturn(Optional.of(latest("CAR1")));
+        when(expertiseRepository.findCarIdById(otherCarsExpertise)).thenReturn(Optional.of("CAR2"));
+        passThroughCache();
+
+        // When & Then - başka aracın cevapları okunmaz
+        assertThatThrownBy(() -> expertiseService.readDeltaForCar("CAR1", otherCarsExpertise))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("CAR1 aracına ait değil");
+        verifyNoInteractions(answerRepository);
+    }
+
+    @Test
+    void shouldRejectUnknownDeltaBase() {
+        // Given
+        UUID unknownId = UUID.randomUUID();
+        when(questionCatalog.current())
+            .thenReturn(QuestionCatalog.Snapshot.of(1, List.of()));
+        when(latestRepository.findById("CAR1")).thenReturn(Optional.of(latest("CAR1")));
+        when(expertiseRepository.findCarIdById(unknownId)).thenReturn(Optional.empty());
+        passThroughCache();
+
+        // When & Then
+        assertThatThrownBy(() -> expertiseService.readDeltaForCar("CAR1", unknownId))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Ekspertiz bulunamadı: " + unknownId);
+        verifyNoInteractions(answerRepository);
+    }
+
+    @Test
+    void shouldPageHistoryWithCursorAndLoadAnswersInOneQuery() {
+        // Given - limit 2 için 3 kayıt gelir, üçüncüsü sonraki sayfa olduğunu gösterir
+        Question question1 = new Question();
+        question1.setId(1L);
+        question1.setText("Multimedyada problem var mı?");
+        question1.setActive(true);
+        Expertise newest = expertise("CAR1", Instant.parse("2025-03-02T10:00:00Z"));
+        Expertise older = expertise("CAR1", Instant.parse("2025-03-01T10:00:00Z"));
+        Expertise oldest = expertise("CAR1", Instant.parse("2025-02-01T10:00:00Z"));
+        
+        when(questionCatalog.current())
+            .thenReturn(QuestionCatalog.Snapshot.of(1, List.of(question1)));
+        when(expertiseRepository.findByCarIdOrderByCreatedAtDescIdDesc("CAR1", Limit.of(3)))
+            .thenReturn(List.of(newest, older, oldest));
+        when(answerRepository.findRowsByExpertiseIdIn(List.of(newest.getId(), older.getId())))
+            .thenReturn(List.of(
+                historyRow(newest.getId(), 1L, true, "photo1.jpg"),
+                historyRow(newest.getId(), 1L, true, "photo2.jpg"),
+                historyRow(older.getId(), 1L, false, null)
+            ));
+        
+        // When
+        ExpertiseHistoryPage page = expertiseService.history("CAR1", null, 2);
+        
+        // Then
+        assertThat(page.items()).extracting(ExpertiseHistoryPage.Entry::expertiseId)
+            .containsExactly(newest.getId(), older.getId());
+        assertThat(page.items().get(0).answers()).singleElement().satisfies(answer -> {
+            assertThat(answer.text()).isEqualTo("Multimedyada problem var mı?");
+            assertThat(answer.photoUrls()).containsExactly("photo1.jpg", "photo2.jpg");
+        });
+        assertThat(page.items().get(1).answers().get(0).photoUrls()).isEmpty();
+        assertThat(HistoryCursor.decode(page.nextCursor()))
+            .isEqualTo(new HistoryCursor(older.getCreatedAt(), older.getId()));
+    }
+
+    @Test
+    void shouldContinueHistoryFromCursorAndEndWithoutNextCursor() {
+        // Given
+        Expertise oldest = expertise("CAR1", Instant.parse("2025-02-01T10:00:00Z"));
+        HistoryCursor cursor = new HistoryCursor(Instant.parse("2025-03-01T10:00:00Z"), UUID.randomUUID());
+        
+        when(questionCatalog.current())
+            .thenReturn(QuestionCatalog.Snapshot.of(1, List.of()));
+        when(expertiseRepository.findHistoryPageBefore("CAR1", cursor.createdAt(), cursor.id(), Limit.of(3)))
+            .thenReturn(List.of(oldest));
+        when(answerRepository.findRowsByExpertiseIdIn(List.of(oldest.getId())))
+            .thenReturn(List.of());
+        
+        // When
+        ExpertiseHistoryPage page = expertiseService.history("CAR1", cursor.encode(), 2);
+        
+        // Then
+        assertThat(page.items()).singleElement().satisfies(entry -> assertThat(entry.answers()).isEmpty());
+        assertThat(page.nextCursor()).isNull();
+        verify(expertiseRepository, never()).findByCarIdOrderByCreatedAtDescIdDesc(anyString(), any());
+    }
+
+    @Test
+    void shouldRejectInvalidHistoryCursorAndLimit() {
+        // When & Then
+        assertThatThrownBy(() -> expertiseService.history("CAR1", "not-a-cursor", 20))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("cursor");
+        assertThatThrownBy(() -> expertiseService.history("CAR1", null, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> expertiseService.history("CAR1", null, ExpertiseServiceImpl.MAX_HISTORY_PAGE_SIZE + 1))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(expertiseRepository, answerRepository);
+    }
+
+    private static Expertise expertise(String carId, Instant createdAt) {
+        Expertise expertise = new Expertise();
+        expertise.setId(UUID.randomUUID());
+        expertise.setCarId(carId);
+        expertise.setCreatedAt(createdAt);
+        return expertise;
+    }
+
+    private static HistoryAnswerRow historyRow(UUID expertiseId, Long questionId, boolean answeredYes, String photoUrl) {
+        return historyRow(expertiseId, questionId, answeredYes, photoUrl, null);
+    }
+
+    private static HistoryAnswerRow historyRow(UUID expertiseId, Long questionId, boolean answeredYes, String photoUrl,
+                                               String description) {
+        return new HistoryRow(expertiseId, questionId, answeredYes, description, photoUrl);
+    }
+
+    private record HistoryRow(UUID getExpertiseId, Long getQuestionId, Boolean getAnsweredYes,
+                              String getDescription, String getPhotoUrl) implements HistoryAnswerRow {
+    }
+
+    @SuppressWarnings("unchecked")
+    private void passThroughBatchCache() {
+        when(readCache.getAll(any(), any(Function.class)))
+            .thenAnswer(inv -> {
+                Map<String, EncodedReadResponse> encoded = new LinkedHashMap<>();
+                ((Function<Collection<String>, Map<String, ReadExpertiseResponse>>) inv.getArgument(1))
+                    .apply(inv.getArgument(0))
+                    .forEach((carId, response) -> encoded.put(carId, encode(response)));
+                return encoded;
+            });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void passThroughCache() {
+        when(readCache.get(anyString(), any(Function.class)))
+            .thenAnswer(inv -> encode(((Function<String, ReadExpertiseResponse>) inv.getArgument(1)).apply(inv.getArgument(0))));
+    }
+
+    private static EncodedReadResponse encode(ReadExpertiseResponse response) {
+        return EncodedReadResponse.encode(response, new ObjectMapper(), -1);
+    }
+
+    private static ExpertiseLatest latest(String carId, ExpertiseLatest.AnswerSnapshot... answers) {
+        ExpertiseLatest latest = new ExpertiseLatest();
+        latest.setCarId(carId);
+        latest.setExpertiseId(UUID.randomUUID());
+        latest.setAnswers(List.of(answers));
+        return latest;
+    }
+}
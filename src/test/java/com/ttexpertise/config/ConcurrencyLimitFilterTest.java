@@ -0,0 +1,148 @@
+package com.ttexpertise.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimit readLimit;
+    private AdaptiveConcurrencyLimit writeLimit;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        readLimit = new AdaptiveConcurrencyLimit(1, 1, 1, 1.5);
+        writeLimit = new AdaptiveConcurrencyLimit(1, 1, 1, 1.5);
+        filter = new ConcurrencyLimitFilter(readLimit, writeLimit, meterRegistry, Duration.ofMillis(1500));
+    }
+
+    @Test
+    void shouldRejectReadsBeyondLimitWithRetryAfter() throws Exception {
+        // Given - tek okuma yeri dolu
+        readLimit.tryAcquire();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = send("GET", "/api/v1/expertises/CAR123", chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(response.getContentType()).isEqualTo("application/problem+json");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(meterRegistry.get("expertise.limiter.rejected").tag("kind", "read").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("expertise.limiter.in.flight").tag("kind", "read").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldLimitReadsAndWritesSeparately() throws Exception {
+        // Given
+        readLimit.tryAcquire();
+
+        // When
+        MockHttpServletResponse create = send("POST", "/api/v1/expertises", new MockFilterChain());
+        MockHttpServletResponse batchRead = send("POST", "/api/v1/expertises/batch-read", new MockFilterChain());
+
+        // Then
+        assertThat(create.getStatus()).isEqualTo(200);
+        assertThat(batchRead.getStatus()).isEqualTo(503);
+        assertThat(writeLimit.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldNotLimitBulkImport() throws Exception {
+        // Given
+        writeLimit.tryAcquire();
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = send("POST", "/api/v1/expertises/bulk", chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void shouldBackOffOnServerErrors() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 1.5);
+        filter = new ConcurrencyLimitFilter(limit, writeLimit, new SimpleMeterRegistry(), Duration.ofSeconds(1));
+        MockFilterChain failing = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(500);
+            }
+        });
+
+        // When
+        send("GET", "/api/v1/expertises/CAR123", failing);
+
+        // Then
+        assertThat(limit.limit()).isEqualTo(18);
+        assertThat(limit.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldShrinkLimitWhenLatencyRisesAndGrowWhenStable() {
+        // Given - dolu yük altında kararlı gecikme sınırı büyütür
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 1.5);
+        saturate(limit, 200, 10);
+        int grown = limit.limit();
+
+        // When - veritabanı yavaşlar
+        saturate(limit, 20, 100);
+
+        // Then
+        assertThat(grown).isGreaterThan(20);
+        assertThat(limit.limit()).isLessThan(grown / 2);
+        assertThat(limit.limit()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void shouldNotGrowWhenUnderused() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 1.5);
+
+        // When - aynı anda tek istek
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(TimeUnit.MILLISECONDS.toNanos(10), false);
+        }
+
+        // Then
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    private MockHttpServletResponse send(String method, String uri, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+        return response;
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimit limit, int rounds, long latencyMillis) {
+        for (int i = 0; i < rounds; i++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int j = 0; j < acquired; j++) {
+                limit.release(TimeUnit.MILLISECONDS.toNanos(latencyMillis), false);
+            }
+        }
+    }
+}
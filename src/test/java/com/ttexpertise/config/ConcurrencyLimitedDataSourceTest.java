@@ -0,0 +1,80 @@
+package com.ttexpertise.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    private DataSource target;
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        target = mock(DataSource.class);
+        dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void shouldRejectWhenLimitReachedAndReleaseOnceOnClose() throws SQLException {
+        // Given
+        Connection physical = mock(Connection.class);
+        when(target.getConnection()).thenReturn(physical);
+        Connection first = dataSource.getConnection();
+
+        // When / Then - ikinci bağlantı izin beklerken zaman aşımına uğrar
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.inUse()).isEqualTo(1);
+
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        // Then - çift close fazladan izin iade etmez
+        verify(physical, times(2)).close();
+        assertThat(second).isNotSameAs(first);
+        assertThat(dataSource.inUse()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleasePermitWhenTargetFails() throws SQLException {
+        // Given
+        when(target.getConnection()).thenThrow(new SQLException("down")).thenReturn(mock(Connection.class));
+
+        // When
+        assertThatThrownBy(dataSource::getConnection).hasMessage("down");
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThat(connection).isNotNull();
+        assertThat(dataSource.waiting()).isZero();
+    }
+
+    @Test
+    void shouldDelegateOtherCallsToPhysicalConnection() throws SQLException {
+        // Given
+        Connection physical = mock(Connection.class);
+        when(target.getConnection()).thenReturn(physical);
+        when(physical.getAutoCommit()).thenReturn(true);
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThat(connection.getAutoCommit()).isTrue();
+        assertThat(connection).isEqualTo(connection);
+        assertThat(dataSource.unwrap(ConcurrencyLimitedDataSource.class)).isSameAs(dataSource);
+    }
+}
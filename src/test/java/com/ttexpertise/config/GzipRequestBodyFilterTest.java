@@ -0,0 +1,69 @@
+package com.ttexpertise.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GzipRequestBodyFilterTest {
+
+    private final GzipRequestBodyFilter filter = new GzipRequestBodyFilter(100);
+
+    @Test
+    void shouldLimitInflatedJsonBody() {
+        // When & Then
+        assertThatThrownBy(() -> send(MediaType.APPLICATION_JSON_VALUE, "x".repeat(101)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("100 byte");
+    }
+
+    @Test
+    void shouldApplyLimitPerLineForNdjson() throws Exception {
+        // Given - toplamı sınırın çok üstünde, her satırı sınırın altında
+        String body = ("y".repeat(99) + "\n").repeat(1_000);
+
+        // When
+        String inflated = send(MediaType.APPLICATION_NDJSON_VALUE, body);
+
+        // Then
+        assertThat(inflated).isEqualTo(body);
+    }
+
+    @Test
+    void shouldRejectNdjsonLineBeyondLimit() {
+        // When & Then - satır sonu olmayan tek satır sınırsız açılamaz
+        assertThatThrownBy(() -> send(MediaType.APPLICATION_NDJSON_VALUE, "{}\n" + "z".repeat(10_000)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("satır");
+    }
+
+    private String send(String contentType, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/expertises/bulk");
+        request.setContentType(contentType);
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContent(gzip(body));
+        AtomicReference<String> inflated = new AtomicReference<>();
+        FilterChain chain = (req, res) -> inflated.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return inflated.get();
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
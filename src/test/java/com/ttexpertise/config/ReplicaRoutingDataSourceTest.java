@@ -0,0 +1,121 @@
+package com.ttexpertise.config;
+
+import com.ttexpertise.service.ReadYourWrites;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaLagMonitor lagMonitor;
+    private SimpleMeterRegistry meterRegistry;
+    private LazyConnectionDataSourceProxy dataSource;
+    private ReadYourWrites readYourWrites;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+        lagMonitor = mock(ReplicaLagMonitor.class);
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, lagMonitor, meterRegistry));
+        readYourWrites = new ReadYourWrites(true, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldRouteReadOnlyConnectionsToHealthyReplica() throws SQLException {
+        // Given
+        when(lagMonitor.isHealthy()).thenReturn(true);
+
+        // When
+        use(true);
+        use(false);
+
+        // Then
+        verify(replica).getConnection();
+        verify(primary).getConnection();
+        assertThat(meterRegistry.get("db.replica.routed").tag("target", "replica").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLags() throws SQLException {
+        // Given
+        when(lagMonitor.isHealthy()).thenReturn(false);
+
+        // When
+        use(true);
+
+        // Then
+        verify(replica, never()).getConnection();
+        verify(primary).getConnection();
+    }
+
+    @Test
+    void shouldReadRecentlyWrittenCarFromPrimary() throws SQLException {
+        // Given
+        when(lagMonitor.isHealthy()).thenReturn(true);
+        readYourWrites.markWritten("CAR123");
+
+        // When
+        readYourWrites.readFor("CAR123", this::useReadOnly);
+        readYourWrites.readFor("CAR456", this::useReadOnly);
+
+        // Then
+        verify(primary).getConnection();
+        verify(replica).getConnection();
+        assertThat(ReadYourWrites.isPrimaryRequired()).isFalse();
+    }
+
+    @Test
+    void shouldReportWhetherReadUsedReplica() {
+        // Given
+        when(lagMonitor.isHealthy()).thenReturn(true);
+        readYourWrites.markWritten("CAR123");
+
+        // When
+        ReadYourWrites.Sourced<Void> fromReplica = ReadYourWrites.trackingReplica(
+                () -> readYourWrites.readFor("CAR456", this::useReadOnly));
+        ReadYourWrites.Sourced<Void> fromPrimary = ReadYourWrites.trackingReplica(
+                () -> readYourWrites.readFor("CAR123", this::useReadOnly));
+
+        // Then
+        assertThat(fromReplica.fromReplica()).isTrue();
+        assertThat(fromPrimary.fromReplica()).isFalse();
+    }
+
+    private Void useReadOnly() {
+        try {
+            use(true);
+            return null;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void use(boolean readOnly) throws SQLException {
+        // Fiziksel bağlantı readOnly bayrağından sonra, ilk statement'ta alınır
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            connection.createStatement();
+        }
+    }
+}
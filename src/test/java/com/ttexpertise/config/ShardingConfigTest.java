@@ -0,0 +1,30 @@
+package com.ttexpertise.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.database.postgresql.PostgreSQLConfigurationExtension;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ShardingConfigTest {
+
+    @Test
+    void shouldKeepSessionLevelFlywayLockOnEveryShard() {
+        // Given - spring.flyway.postgresql.transactional-lock=false
+        FluentConfiguration primary = Flyway.configure();
+        primary.getPluginRegister().getPlugin(PostgreSQLConfigurationExtension.class).setTransactionalLock(false);
+        DataSource shard = mock(DataSource.class);
+
+        // When
+        FluentConfiguration shardConfiguration = ShardingConfig.shardConfiguration(primary.load(), shard);
+
+        // Then
+        assertThat(shardConfiguration.getDataSource()).isSameAs(shard);
+        assertThat(shardConfiguration.getPluginRegister().getPlugin(PostgreSQLConfigurationExtension.class)
+                .isTransactionalLock()).isFalse();
+    }
+}
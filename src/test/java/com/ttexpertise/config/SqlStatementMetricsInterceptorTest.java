@@ -0,0 +1,83 @@
+package com.ttexpertise.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementMetricsInterceptorTest {
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatementMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new SqlStatementMetricsInterceptor(meterRegistry, 2);
+    }
+
+    @Test
+    void shouldRecordStatementsAndEntityLoadsPerEndpoint() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/expertises/CAR1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/expertises/{carId}");
+
+        // When - istek sırasında 3 statement, 2 entity yükleme
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        counter.inspect("select 1");
+        counter.inspect("select 2");
+        counter.inspect("select 3");
+        SqlStatementCounter.entityLoaded();
+        SqlStatementCounter.entityLoaded();
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+
+        // Then
+        DistributionSummary statements = meterRegistry.get("sql.statements.per.request")
+                .tag("method", "GET").tag("uri", "/api/v1/expertises/{carId}").summary();
+        DistributionSummary entityLoads = meterRegistry.get("sql.entity.loads.per.request")
+                .tag("uri", "/api/v1/expertises/{carId}").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(3);
+        assertThat(entityLoads.totalAmount()).isEqualTo(2);
+
+        // İstek bittikten sonra thread'de açık kapsam kalmaz
+        counter.inspect("select 4");
+        assertThat(statements.totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldDiscardScopeWhenRequestGoesAsync() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/expertise-exports");
+
+        // When
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        counter.inspect("select 1");
+        interceptor.afterConcurrentHandlingStarted(request, new MockHttpServletResponse(), new Object());
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+
+        // Then
+        assertThat(meterRegistry.find("sql.statements.per.request").summary()).isNull();
+    }
+
+    @Test
+    void shouldAddNestedScopeCountsToParent() {
+        // When
+        try (SqlStatementCounter.Scope outer = SqlStatementCounter.open()) {
+            counter.inspect("select 1");
+            try (SqlStatementCounter.Scope inner = SqlStatementCounter.open()) {
+                counter.inspect("select 2");
+                assertThat(inner.statements()).isEqualTo(1);
+            }
+
+            // Then
+            assertThat(outer.statements()).isEqualTo(2);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ttexpertise.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfig.class)
+            .withBean(DataSource.class, () -> mock(DataSource.class));
+
+    @Test
+    void shouldLimitDataSourceOnlyInVirtualThreadMode() {
+        contextRunner.run(context -> assertThat(context.getBean(DataSource.class))
+                .isNotInstanceOf(ConcurrencyLimitedDataSource.class));
+
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true", "expertise.db.max-concurrency=4")
+                .run(context -> {
+                    DataSource dataSource = context.getBean(DataSource.class);
+                    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                    context.getBean("dbConcurrencyMetrics", MeterBinder.class).bindTo(registry);
+
+                    assertThat(dataSource).isInstanceOf(ConcurrencyLimitedDataSource.class);
+                    assertThat(((ConcurrencyLimitedDataSource) dataSource).maxConcurrency()).isEqualTo(4);
+                    assertThat(registry.get("db.concurrency.max").gauge().value()).isEqualTo(4.0);
+                });
+    }
+
+    @Test
+    void shouldPublishGaugesForEveryLimitedPoolInReplicaMode() {
+        // Given - primary ve replika ayrı bean'ler, @Primary DataSource bunları yönlendirir
+        new ApplicationContextRunner()
+                .withUserConfiguration(VirtualThreadConfig.class)
+                .withPropertyValues("spring.threads.virtual.enabled=true", "expertise.db.max-concurrency=4")
+                .withBean("primaryDataSource", DataSource.class, () -> mock(DataSource.class))
+                .withBean("replicaDataSource", DataSource.class, () -> mock(DataSource.class))
+                .run(context -> {
+                    // When
+                    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                    context.getBean("dbConcurrencyMetrics", MeterBinder.class).bindTo(registry);
+
+                    // Then
+                    assertThat(registry.get("db.concurrency.max").gauges()).hasSize(2);
+                    assertThat(registry.get("db.concurrency.in.use").tag("pool", "primaryDataSource").gauge()).isNotNull();
+                    assertThat(registry.get("db.concurrency.in.use").tag("pool", "replicaDataSource").gauge()).isNotNull();
+                });
+    }
+
+    @Test
+    void shouldPublishGaugesPerShard() {
+        // Given - sharding modunda sınırlı havuzlar bean değil, ShardDataSources içinde
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true")
+                .withBean(ShardingConfig.ShardDataSources.class, () -> {
+                    HikariDataSource shard0 = pool("shard-0");
+                    HikariDataSource shard1 = pool("shard-1");
+                    return new ShardingConfig.ShardDataSources(List.of(shard0, shard1), List.of(
+                            new ConcurrencyLimitedDataSource(shard0, 3, Duration.ofSeconds(1)),
+                            new ConcurrencyLimitedDataSource(shard1, 5, Duration.ofSeconds(1))));
+                })
+                .run(context -> {
+                    // When
+                    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                    context.getBean("dbConcurrencyMetrics", MeterBinder.class).bindTo(registry);
+
+                    // Then
+                    assertThat(registry.get("db.concurrency.max").tag("pool", "shard-0").gauge().value()).isEqualTo(3.0);
+                    assertThat(registry.get("db.concurrency.max").tag("pool", "shard-1").gauge().value()).isEqualTo(5.0);
+                });
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        return pool;
+    }
+}
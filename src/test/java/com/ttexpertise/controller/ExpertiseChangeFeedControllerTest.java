@@ -0,0 +1,57 @@
+package com.ttexpertise.controller;
+
+import com.ttexpertise.business.service.ExpertiseChangeFeedService;
+import com.ttexpertise.model.dto.ExpertiseChangePage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExpertiseChangeFeedController.class)
+class ExpertiseChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExpertiseChangeFeedService changeFeedService;
+
+    @Test
+    void shouldReturnChangesForGivenCars() throws Exception {
+        // Given
+        UUID expertiseId = UUID.randomUUID();
+        ExpertiseChangePage page = new ExpertiseChangePage(List.of(
+                new ExpertiseChangePage.Entry(expertiseId, "CAR1", Instant.parse("2025-03-01T10:00:00Z"), List.of())), "next", false);
+
+        when(changeFeedService.changesSince("abc", List.of("CAR1", "CAR2"), 100)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/expertise-changes")
+                        .param("since", "abc")
+                        .param("carIds", "CAR1", "CAR2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].expertiseId").value(expertiseId.toString()))
+                .andExpect(jsonPath("$.nextSince").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidSinceToken() throws Exception {
+        // Given
+        when(changeFeedService.changesSince("bad", null, 100))
+                .thenThrow(new IllegalArgumentException("Geçersiz since: bad"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/expertise-changes").param("since", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+}
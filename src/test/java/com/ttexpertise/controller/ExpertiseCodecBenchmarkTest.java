@@ -0,0 +1,98 @@
+package com.ttexpertise.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.model.dto.ReadExpertiseResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JSON ile CBOR'un gövde boyutu (düz ve gzip'li) ve encode/decode süresi karşılaştırması.
+ * Varsayılan test koşusundan hariçtir: {@code ./mvnw test -Dtest.excludedGroups= -Dgroups=benchmark}
+ */
+@Tag("benchmark")
+class ExpertiseCodecBenchmarkTest {
+
+    private static final int QUESTIONS = 40;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new CBORMapper();
+
+    @Test
+    void cborShouldBeSmallerThanJsonForReadResponse() throws Exception {
+        // Given - tipik araç: her soruda önceki cevap, yarısında fotoğraf
+        ReadExpertiseResponse response = new ReadExpertiseResponse("CAR-BENCH", null, IntStream.range(0, QUESTIONS)
+                .mapToObj(i -> new ReadExpertiseResponse.QuestionItem((long) i, "Soru metni " + i + " için örnek açıklama?",
+                        new ReadExpertiseResponse.Previous(i % 2 == 0, i % 2 == 0 ? "Sağ ön çamurlukta çizik" : null,
+                                i % 2 == 0 ? List.of("https://cdn.example.com/photos/CAR-BENCH/" + i + "/1.jpg",
+                                        "https://cdn.example.com/photos/CAR-BENCH/" + i + "/2.jpg") : List.of())))
+                .toList());
+
+        // When & Then
+        compare("read", response, ReadExpertiseResponse.class);
+    }
+
+    @Test
+    void cborShouldBeSmallerThanJsonForCreateRequest() throws Exception {
+        // Given
+        CreateExpertiseRequest request = new CreateExpertiseRequest("CAR-BENCH", LongStream.range(0, QUESTIONS)
+                .mapToObj(i -> new CreateExpertiseRequest.AnswerPayload(i, i % 2 == 0, i % 2 == 0 ? "Sağ ön çamurlukta çizik" : null,
+                        i % 2 == 0 ? List.of("https://cdn.example.com/photos/CAR-BENCH/" + i + "/1.jpg") : List.of()))
+                .toList());
+
+        // When & Then
+        compare("create", request, CreateExpertiseRequest.class);
+    }
+
+    private <T> void compare(String name, T value, Class<T> type) throws Exception {
+        byte[] jsonBytes = json.writeValueAsBytes(value);
+        byte[] cborBytes = cbor.writeValueAsBytes(value);
+        assertThat(cbor.readValue(cborBytes, type)).isEqualTo(value);
+
+        double jsonEncode = nanosPerOp(() -> json.writeValueAsBytes(value));
+        double cborEncode = nanosPerOp(() -> cbor.writeValueAsBytes(value));
+        double jsonDecode = nanosPerOp(() -> json.readValue(jsonBytes, type));
+        double cborDecode = nanosPerOp(() -> cbor.readValue(cborBytes, type));
+
+        System.out.printf("%-6s json: %6d B (gzip %5d B) encode=%6.1fµs decode=%6.1fµs%n", name,
+                jsonBytes.length, gzip(jsonBytes).length, jsonEncode / 1_000, jsonDecode / 1_000);
+        System.out.printf("%-6s cbor: %6d B (gzip %5d B) encode=%6.1fµs decode=%6.1fµs%n", name,
+                cborBytes.length, gzip(cborBytes).length, cborEncode / 1_000, cborDecode / 1_000);
+        assertThat(cborBytes.length).isLessThan(jsonBytes.length);
+    }
+
+    private static double nanosPerOp(Callable<?> operation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.call();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.call();
+        }
+        return (double) (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
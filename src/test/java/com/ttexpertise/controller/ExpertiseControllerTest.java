@@ -1,31 +1,64 @@
 package com.ttexpertise.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.ttexpertise.business.service.ExpertiseService;
+import com.ttexpertise.config.CborConfig;
+import com.ttexpertise.model.dto.BatchReadExpertiseRequest;
 import com.ttexpertise.model.dto.CreateExpertiseRequest;
 import com.ttexpertise.model.dto.CreateExpertiseResponse;
+import com.ttexpertise.model.dto.EncodedReadResponse;
+import com.ttexpertise.model.dto.ExpertiseHistoryPage;
+import com.ttexpertise.model.dto.ReadExpertiseDelta;
 import com.ttexpertise.model.dto.ReadExpertiseResponse;
 import com.ttexpertise.service.IdempotencyService;
+import com.ttexpertise.service.IdempotentRequestExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ExpertiseController.class)
+@Import({IdempotentRequestExecutor.class, CborConfig.class, ExpertiseControllerTest.MetricsConfig.class})
 class ExpertiseControllerTest {
 
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -43,7 +76,7 @@ class ExpertiseControllerTest {
         // Given
         String carId = "CAR123";
         ReadExpertiseResponse response = new ReadExpertiseResponse(
-                carId,
+                carId, null,
                 List.of(
                         new ReadExpertiseResponse.QuestionItem(
                                 1L, "Test question", 
@@ -52,18 +85,155 @@ class ExpertiseControllerTest {
                 )
         );
         
-        when(expertiseService.readForCar(carId)).thenReturn(response);
+        EncodedReadResponse encoded = EncodedReadResponse.encode(response, objectMapper, -1);
+        when(expertiseService.readEncodedForCar(carId)).thenReturn(encoded);
 
         // When & Then
         mockMvc.perform(get("/api/v1/expertises/{carId}", carId))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", encoded.etag()))
                 .andExpect(jsonPath("$.carId").value(carId))
                 .andExpect(jsonPath("$.items").isArray())
                 .andExpect(jsonPath("$.items[0].questionId").value(1))
                 .andExpect(jsonPath("$.items[0].text").value("Test question"));
     }
 
+    @Test
+    void shouldReadExpertiseAsCborWhenPreferred() throws Exception {
+        // Given
+        ReadExpertiseResponse response = new ReadExpertiseResponse("CAR123", null, List.of(
+                new ReadExpertiseResponse.QuestionItem(1L, "Test question",
+                        new ReadExpertiseResponse.Previous(true, "Çizik", List.of("photo1.jpg")))));
+        when(expertiseService.readEncodedForCar("CAR123")).thenReturn(EncodedReadResponse.encode(response, objectMapper, -1));
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/expertises/{carId}", "CAR123")
+                        .header(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertThat(new CBORMapper().readValue(body, ReadExpertiseResponse.class)).isEqualTo(response);
+        mockMvc.perform(get("/api/v1/expertises/{carId}", "CAR123")
+                        .header(HttpHeaders.ACCEPT, "application/json, application/cbor;q=0.5"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenEtagMatches() throws Exception {
+        // Given
+        EncodedReadResponse encoded = EncodedReadResponse.encode(new ReadExpertiseResponse("CAR123", null, List.of()), objectMapper, -1);
+        when(expertiseService.readEncodedForCar("CAR123")).thenReturn(encoded);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/expertises/{carId}", "CAR123").header("If-None-Match", encoded.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void shouldServeGzipBytesWhenClientAcceptsThem() throws Exception {
+        // Given
+        EncodedReadResponse encoded = EncodedReadResponse.encode(new ReadExpertiseResponse("CAR123", null, List.of(
+                new ReadExpertiseResponse.QuestionItem(1L, "Test question ".repeat(20),
+                        new ReadExpertiseResponse.Previous(false, null, List.of())))), objectMapper, 0);
+        when(expertiseService.readEncodedForCar("CAR123")).thenReturn(encoded);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/expertises/{carId}", "CAR123").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andExpect(content().bytes(encoded.gzip()));
+        mockMvc.perform(get("/api/v1/expertises/{carId}", "CAR123").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(encoded.json()));
+    }
+
+    @Test
+    void shouldReadExpertisesInBatch() throws Exception {
+        // Given
+        BatchReadExpertiseRequest request = new BatchReadExpertiseRequest(List.of("CAR1", "CAR2"));
+        Map<String, ReadExpertiseResponse> response = new LinkedHashMap<>();
+        response.put("CAR1", new ReadExpertiseResponse("CAR1", null, List.of()));
+        response.put("CAR2", new ReadExpertiseResponse("CAR2", null, List.of()));
+        
+        when(expertiseService.readForCars(List.of("CAR1", "CAR2"))).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/expertises/batch-read")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.CAR1.carId").value("CAR1"))
+                .andExpect(jsonPath("$.CAR2.carId").value("CAR2"));
+    }
+
+    @Test
+    void shouldReturnDeltaOrNotModified() throws Exception {
+        // Given
+        UUID knownId = UUID.randomUUID();
+        UUID latestId = UUID.randomUUID();
+        when(expertiseService.readDeltaForCar("CAR1", knownId)).thenReturn(new ReadExpertiseDelta("CAR1", latestId, knownId,
+                List.of(new ReadExpertiseResponse.QuestionItem(2L, "Ruhsatta eksiklik var mı?",
+                        new ReadExpertiseResponse.Previous(true, "Eksik", List.of("photo3.jpg")))),
+                List.of(1L, 2L)));
+        when(expertiseService.readDeltaForCar("CAR1", latestId))
+                .thenReturn(new ReadExpertiseDelta("CAR1", latestId, latestId, List.of(), List.of(1L, 2L)));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/expertises/{carId}/delta", "CAR1").param("since", knownId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expertiseId").value(latestId.toString()))
+                .andExpect(jsonPath("$.changed[0].questionId").value(2))
+                .andExpect(jsonPath("$.questionIds.length()").value(2));
+        mockMvc.perform(get("/api/v1/expertises/{carId}/delta", "CAR1").param("since", latestId.toString()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/expertises/{carId}/delta", "CAR1").param("since", "not-a-uuid"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReadHistoryPage() throws Exception {
+        // Given
+        UUID expertiseId = UUID.randomUUID();
+        ExpertiseHistoryPage page = new ExpertiseHistoryPage("CAR1", List.of(
+                new ExpertiseHistoryPage.Entry(expertiseId, Instant.parse("2025-03-01T10:00:00Z"), List.of())), "next");
+        
+        when(expertiseService.history("CAR1", "abc", 5)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/expertises/CAR1/history").param("cursor", "abc").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].expertiseId").value(expertiseId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidHistoryCursor() throws Exception {
+        // Given
+        when(expertiseService.history("CAR1", "bad", 20))
+                .thenThrow(new IllegalArgumentException("Geçersiz cursor: bad"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/expertises/CAR1/history").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Geçersiz cursor: bad"));
+    }
+
+    @Test
+    void shouldRejectEmptyBatchRead() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/expertises/batch-read")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"carIds\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldCreateExpertise() throws Exception {
         // Given
@@ -91,6 +261,103 @@ class ExpertiseControllerTest {
                 .andExpect(jsonPath("$.id").value(expertiseId.toString()));
     }
 
+    @Test
+    void shouldCreateExpertiseFromGzippedCborBody() throws Exception {
+        // Given
+        CreateExpertiseRequest request = new CreateExpertiseRequest("CAR123", List.of(
+                new CreateExpertiseRequest.AnswerPayload(1L, true, "Test description", List.of("http://example.com/photo1.jpg"))));
+        UUID expertiseId = UUID.randomUUID();
+        when(expertiseService.create(request)).thenReturn(expertiseId);
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(new CBORMapper().writeValueAsBytes(request));
+        }
+
+        // When & Then
+        byte[] body = mockMvc.perform(post("/api/v1/expertises")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(gzipped.toByteArray()))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new CBORMapper().readValue(body, CreateExpertiseResponse.class).id()).isEqualTo(expertiseId);
+    }
+
+    @Test
+    void shouldRejectCorruptGzipBody() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/expertises")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content("{\"carId\":\"CAR123\"}"))
+                .andExpect(status().isBadRequest());
+        verify(expertiseService, never()).create(any());
+    }
+
+    @Test
+    void shouldReplayStoredResultForRepeatedIdempotencyKey() throws Exception {
+        // Given
+        CreateExpertiseRequest request = new CreateExpertiseRequest(
+                "CAR123",
+                List.of(new CreateExpertiseRequest.AnswerPayload(1L, false, null, List.of()))
+        );
+        UUID expertiseId = UUID.randomUUID();
+        when(idempotencyService.reserveOrGet(eq("expertise:create:retry-1"), any(), any()))
+                .thenReturn("{\"id\":\"" + expertiseId + "\"}");
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/expertises")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(expertiseId.toString()));
+        verify(expertiseService, never()).create(any());
+    }
+
+    @Test
+    void shouldRejectIdempotencyKeyReusedWithDifferentBody() throws Exception {
+        // Given - anahtar başka bir gövdenin özetiyle saklanmış
+        CreateExpertiseRequest request = new CreateExpertiseRequest(
+                "CAR123",
+                List.of(new CreateExpertiseRequest.AnswerPayload(1L, false, null, List.of()))
+        );
+        when(idempotencyService.reserveOrGet(eq("expertise:create:retry-1"), any(), any()))
+                .thenReturn("0".repeat(64) + ":{\"id\":\"" + UUID.randomUUID() + "\"}");
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/expertises")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+        verify(expertiseService, never()).create(any());
+    }
+
+    @Test
+    void shouldStoreResultForNewIdempotencyKey() throws Exception {
+        // Given
+        CreateExpertiseRequest request = new CreateExpertiseRequest(
+                "CAR123",
+                List.of(new CreateExpertiseRequest.AnswerPayload(1L, false, null, List.of()))
+        );
+        UUID expertiseId = UUID.randomUUID();
+        when(expertiseService.create(any(CreateExpertiseRequest.class))).thenReturn(expertiseId);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/expertises")
+                        .header("Idempotency-Key", "new-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(expertiseId.toString()));
+        verify(idempotencyService).markAsProcessed(eq("expertise:create:new-1"),
+                endsWith(":{\"id\":\"" + expertiseId + "\"}"), eq(IdempotencyService.DEFAULT_TTL));
+    }
+
     @Test
     void shouldReturnBadRequestForInvalidInput() throws Exception {
         // Given
@@ -0,0 +1,73 @@
+package com.ttexpertise.controller;
+
+import com.ttexpertise.business.service.ExpertiseExportService;
+import com.ttexpertise.model.dto.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExpertiseExportController.class)
+class ExpertiseExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExpertiseExportService exportService;
+
+    @Test
+    void shouldStreamCsvExport() throws Exception {
+        // Given
+        Instant from = Instant.parse("2025-03-01T00:00:00Z");
+        Instant to = Instant.parse("2025-04-01T00:00:00Z");
+        when(exportService.export(eq(from), eq(to), eq(ExportFormat.CSV), any())).thenAnswer(inv -> {
+            OutputStream out = inv.getArgument(3);
+            out.write("expertise_id\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/expertise-exports")
+                        .param("from", "2025-03-01T00:00:00Z")
+                        .param("to", "2025-04-01T00:00:00Z")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("expertise_id\n"));
+    }
+
+    @Test
+    void shouldRejectInvalidRangeAndFormatBeforeStreaming() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/expertise-exports")
+                        .param("from", "2025-04-01T00:00:00Z")
+                        .param("to", "2025-03-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/expertise-exports")
+                        .param("from", "2025-03-01T00:00:00Z")
+                        .param("to", "2025-04-01T00:00:00Z")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(exportService);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ttexpertise.controller;
+
+import com.ttexpertise.business.service.ExpertiseImportService;
+import com.ttexpertise.model.dto.ImportLineResult;
+import com.ttexpertise.model.dto.ImportSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExpertiseImportController.class)
+class ExpertiseImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExpertiseImportService importService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamLineResultsAndSummaryAsNdjson() throws Exception {
+        // Given
+        UUID id = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        when(importService.importNdjson(any(), any())).thenAnswer(inv -> {
+            Consumer<ImportLineResult> results = inv.getArgument(1);
+            results.accept(ImportLineResult.created(1, id));
+            results.accept(ImportLineResult.rejected(2, "Evet seçilince en az 1 fotoğraf gerekli"));
+            return new ImportSummary(2, 1, 1, 0);
+        });
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/expertises/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"line\":1,\"status\":\"CREATED\",\"id\":\"" + id + "\"}\n"
+                        + "{\"line\":2,\"status\":\"REJECTED\",\"error\":\"Evet seçilince en az 1 fotoğraf gerekli\"}\n"
+                        + "{\"lines\":2,\"created\":1,\"rejected\":1,\"failed\":0}\n"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.ttexpertise.integration;
+
+import com.ttexpertise.business.service.ExpertiseService;
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ExpertiseBatchInsertIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    @Autowired
+    private ExpertiseService expertiseService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldPersistWholeAggregateAsOneBatchPerTable() {
+        // Given - 5 seed soru (V2), her biri 3 fotoğraflı: 1 expertise + 5 answer + 15 photo
+        CreateExpertiseRequest request = new CreateExpertiseRequest(
+                "CAR-BATCH",
+                LongStream.rangeClosed(1, 5)
+                        .mapToObj(questionId -> new CreateExpertiseRequest.AnswerPayload(
+                                questionId, true, "Soru " + questionId,
+                                List.of("https://example.com/" + questionId + "/1.jpg",
+                                        "https://example.com/" + questionId + "/2.jpg",
+                                        "https://example.com/" + questionId + "/3.jpg")))
+                        .toList()
+        );
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        UUID id = expertiseService.create(request);
+
+        // Then - 21 satır, tablo başına tek prepared statement (batch) ile yazılır, araç özeti tek upsert; soru tablosu okunmaz
+        assertThat(id).isNotNull();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(21);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,149 @@
+package com.ttexpertise.integration;
+
+import com.ttexpertise.business.service.ExpertiseExportService;
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.model.dto.ExportFormat;
+import com.ttexpertise.repository.ExpertiseCopyRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dışa aktarmanın satır/sn verimi ve heap kullanımı. Varsayılan test koşusundan hariçtir:
+ * {@code ./mvnw test -Dtest.excludedGroups= -Dgroups=benchmark}
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExpertiseExportBenchmarkTest {
+
+    // 5 seed soru (V2), her cevapta 1 fotoğraf: ekspertiz başına 5 satır
+    private static final int EXPERTISES = 200_000;
+    private static final int ROWS_PER_EXPERTISE = 5;
+    private static final int SEED_CHUNK = 10_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ExpertiseCopyRepository copyRepository;
+
+    @Autowired
+    private ExpertiseExportService exportService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void seed() {
+        Instant createdAt = Instant.parse("2025-03-01T00:00:00Z");
+        for (int offset = 0; offset < EXPERTISES; offset += SEED_CHUNK) {
+            List<ExpertiseCopyRepository.PendingExpertise> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = offset; i < offset + SEED_CHUNK; i++) {
+                chunk.add(new ExpertiseCopyRepository.PendingExpertise(UUID.randomUUID(), createdAt.plusSeconds(i), request("CAR-" + i)));
+            }
+            transactionTemplate.executeWithoutResult(status -> copyRepository.copy(chunk));
+        }
+    }
+
+    @Test
+    void shouldStreamMillionRowsWithFlatHeap() throws IOException {
+        // Given
+        Instant from = Instant.parse("2025-03-01T00:00:00Z");
+        Instant to = from.plus(365, ChronoUnit.DAYS);
+
+        for (ExportFormat format : ExportFormat.values()) {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            System.gc();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            CountingOutputStream out = new CountingOutputStream(memory);
+
+            // When
+            long start = System.nanoTime();
+            long rows = exportService.export(from, to, format, out);
+            long elapsedNanos = System.nanoTime() - start;
+
+            // Then
+            report(format, rows, elapsedNanos, out.bytes.get(), out.peakHeap - heapBefore);
+            assertThat(rows).isEqualTo((long) EXPERTISES * ROWS_PER_EXPERTISE);
+        }
+    }
+
+    private static CreateExpertiseRequest request(String carId) {
+        return new CreateExpertiseRequest(carId, LongStream.rangeClosed(1, ROWS_PER_EXPERTISE)
+                .mapToObj(questionId -> new CreateExpertiseRequest.AnswerPayload(
+                        questionId, true, "Soru " + questionId, List.of("https://example.com/" + carId + "/" + questionId + ".jpg")))
+                .toList());
+    }
+
+    private static void report(ExportFormat format, long rows, long elapsedNanos, long bytes, long heapGrowth) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%-6s rows=%d time=%.2fs rows/s=%.0f MB/s=%.1f peakHeapGrowth=%dMB%n", format, rows, seconds,
+                rows / seconds, bytes / seconds / (1 << 20), heapGrowth >> 20);
+    }
+
+    /**
+     * Gövdeyi atar; her 1 MB'da heap kullanımını örnekler.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final MemoryMXBean memory;
+        private final AtomicLong bytes = new AtomicLong();
+        private long peakHeap;
+
+        CountingOutputStream(MemoryMXBean memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count(len);
+        }
+
+        private void count(long length) {
+            long total = bytes.addAndGet(length);
+            if ((total >> 20) != ((total - length) >> 20)) {
+                peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+            }
+        }
+    }
+}
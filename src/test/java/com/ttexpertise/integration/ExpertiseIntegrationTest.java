@@ -7,6 +7,7 @@ import com.ttexpertise.repository.AnswerRepository;
 import com.ttexpertise.repository.ExpertiseRepository;
 import com.ttexpertise.repository.PhotoRepository;
 import com.ttexpertise.repository.QuestionRepository;
+import com.ttexpertise.service.QuestionCatalog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,6 +60,9 @@ class ExpertiseIntegrationTest {
     @Autowired
     private PhotoRepository photoRepository;
 
+    @Autowired
+    private QuestionCatalog questionCatalog;
+
     private MockMvc mockMvc;
     private com.ttexpertise.model.entity.Question q1;
     private com.ttexpertise.model.entity.Question q2;
@@ -83,6 +87,7 @@ class ExpertiseIntegrationTest {
         q2.setActive(true);
         
         questionRepository.saveAll(List.of(q1, q2));
+        questionCatalog.refresh();
     }
 
     @Test
@@ -0,0 +1,134 @@
+package com.ttexpertise.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Büyük veriyle uçtan uca yük testi: milyonlarca ekspertiz (varsayılan 2M, ~1M araç) SQL ile seed edilir,
+ * ardından gerçek HTTP üzerinden karışık okuma/oluşturma trafiği sürülür. Verim ve p50/p95/p99/p99.9
+ * gecikmeler {@code loadtest.report} dosyasına JSON olarak yazılır; {@code loadtest.baseline} verilirse
+ * önceki rapora göre gerileme kontrol edilir. Varsayılan test koşusundan hariçtir:
+ * {@code ./mvnw test -Dtest.excludedGroups= -Dgroups=loadtest -Dloadtest.expertises=2000000}
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExpertiseLoadTest {
+
+    private static final long EXPERTISES = Long.getLong("loadtest.expertises", 2_000_000);
+    private static final long CARS = Long.getLong("loadtest.cars", 1_000_000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final double READ_RATIO = Double.parseDouble(System.getProperty("loadtest.read-ratio", "0.9"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT30S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT2M"));
+    private static final Path REPORT = Path.of(System.getProperty("loadtest.report", "target/loadtest/report.json"));
+    private static final String BASELINE = System.getProperty("loadtest.baseline");
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.10"));
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withSharedMemorySize(1L << 30)
+            .withCommand("postgres", "-c", "shared_buffers=512MB", "-c", "max_wal_size=4GB");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private LoadDriver driver;
+
+    @BeforeAll
+    void seed() throws SQLException {
+        LoadDriver.seed(dataSource, EXPERTISES, CARS);
+        driver = new LoadDriver(objectMapper, "http://localhost:" + port, CARS, READ_RATIO);
+    }
+
+    @Test
+    void shouldReportLatencyPercentilesUnderMixedTraffic() throws Exception {
+        // Given - ısınma turu ölçülmez (JIT, bağlantı havuzu, L1 cache)
+        driver.run(CONCURRENCY, WARMUP);
+
+        // When
+        LoadDriver.Result result = driver.run(CONCURRENCY, DURATION);
+
+        // Then
+        Report report = new Report(Instant.now(), config(), result.throughputPerSecond(), result.operations());
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), report);
+        System.out.println(objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report));
+
+        report.operations().forEach((name, operation) -> assertThat(operation.errors()).as(name + " errors").isZero());
+        if (BASELINE != null) {
+            assertNoRegression(report, objectMapper.readValue(Path.of(BASELINE).toFile(), Report.class));
+        }
+    }
+
+    private Map<String, Object> config() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("expertises", EXPERTISES);
+        config.put("cars", CARS);
+        config.put("concurrency", CONCURRENCY);
+        config.put("readRatio", READ_RATIO);
+        config.put("warmup", WARMUP.toString());
+        config.put("duration", DURATION.toString());
+        config.put("virtualThreads", virtualThreads);
+        return config;
+    }
+
+    private static void assertNoRegression(Report current, Report baseline) {
+        baseline.operations().forEach((name, expected) -> {
+            LoadDriver.Operation actual = current.operations().get(name);
+            assertThat(actual).as(name).isNotNull();
+            assertThat(actual.latencyMs().get("p99")).as(name + " p99 ms")
+                    .isLessThanOrEqualTo(expected.latencyMs().get("p99") * (1 + TOLERANCE));
+            assertThat(actual.throughputPerSecond()).as(name + " throughput")
+                    .isGreaterThanOrEqualTo(expected.throughputPerSecond() * (1 - TOLERANCE));
+        });
+    }
+
+    record Report(Instant finishedAt, Map<String, Object> config, double throughputPerSecond,
+                  Map<String, LoadDriver.Operation> operations) {
+    }
+}
@@ -0,0 +1,163 @@
+package com.ttexpertise.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ttexpertise.model.dto.ReadExpertiseResponse;
+import com.ttexpertise.model.entity.Question;
+import com.ttexpertise.model.event.QuestionCatalogChangedEvent;
+import com.ttexpertise.repository.QuestionRepository;
+import com.ttexpertise.service.ExpertiseReadCache;
+import com.ttexpertise.service.QuestionCatalog;
+import com.ttexpertise.service.ReadYourWrites;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Commit'ten önce yüklenip silmeden sonra yazılan veya replikadan okunan eski değerin L2'ye girmemesi.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ExpertiseReadCacheRedisIntegrationTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static final UUID OLD_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID NEW_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private QuestionCatalog catalog;
+    private ExpertiseReadCache readCache;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        QuestionRepository questionRepository = mock(QuestionRepository.class);
+        when(questionRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(question("Kaputta göçük var mı?")))
+                .thenReturn(List.of(question("Kaputta çizik var mı?")));
+        catalog = new QuestionCatalog(questionRepository, event -> { });
+        catalog.refresh();
+        readCache = new ExpertiseReadCache(redisTemplate, new ObjectMapper(), catalog, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(5), true, Duration.ofMinutes(30), 256);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void shouldRefuseStaleWriteBackAfterEviction() {
+        // Given - yeni ekspertiz commit edildi, L2 silindi
+        readCache.evict("CAR1", NEW_ID);
+
+        // When - commit'ten önce başlamış yükleme eski ekspertizle döner
+        readCache.get("CAR1", carId -> response(carId, OLD_ID));
+
+        // Then
+        assertThat(redisTemplate.hasKey(key("CAR1"))).isFalse();
+
+        // When - commit'ten sonraki yükleme yeni ekspertizi görür
+        readCache.evictLocal("CAR1");
+        readCache.get("CAR1", carId -> response(carId, NEW_ID));
+
+        // Then
+        assertThat(redisTemplate.opsForValue().get(key("CAR1"))).contains(NEW_ID.toString());
+    }
+
+    @Test
+    void shouldApplyTheSameGuardToBatchWrites() {
+        // Given
+        readCache.evict("CAR1", NEW_ID);
+
+        // When
+        readCache.getAll(List.of("CAR1", "CAR2"), missing -> Map.of(
+                "CAR1", response("CAR1", OLD_ID),
+                "CAR2", response("CAR2", OLD_ID)));
+
+        // Then - sürümü olmayan araç yazılır, eski değer yazılmaz
+        assertThat(redisTemplate.hasKey(key("CAR1"))).isFalse();
+        assertThat(redisTemplate.hasKey(key("CAR2"))).isTrue();
+    }
+
+    @Test
+    void shouldNotWriteReplicaSourcedValuesToL2() {
+        // When - yükleme bağlantıyı replikadan alır
+        readCache.get("CAR1", carId -> {
+            ReadYourWrites.markReplicaRead();
+            return response(carId, OLD_ID);
+        });
+
+        // Then
+        assertThat(redisTemplate.hasKey(key("CAR1"))).isFalse();
+    }
+
+    @Test
+    void shouldMissEntriesWrittenUnderPreviousCatalog() {
+        // Given
+        readCache.get("CAR1", carId -> response(carId, OLD_ID));
+        assertThat(redisTemplate.hasKey(key("CAR1"))).isTrue();
+
+        // When - soru metni değişir
+        catalog.refresh();
+        readCache.onQuestionCatalogChanged(new QuestionCatalogChangedEvent(catalog.current().version()));
+        readCache.get("CAR1", carId -> response(carId, NEW_ID));
+
+        // Then - önceki katalogdaki girdi yerine yeniden yüklenen değer okunur
+        readCache.evictLocal("CAR1");
+        assertThat(readCache.get("CAR1", carId -> response(carId, OLD_ID)).response().expertiseId()).isEqualTo(NEW_ID);
+    }
+
+    @Test
+    void shouldEvictPreviousCatalogEntryForNodesNotYetRefreshed() {
+        // Given
+        readCache.get("CAR1", carId -> response(carId, OLD_ID));
+        String previous = key("CAR1");
+        catalog.refresh();
+        readCache.onQuestionCatalogChanged(new QuestionCatalogChangedEvent(catalog.current().version()));
+
+        // When
+        readCache.evict("CAR1", NEW_ID);
+
+        // Then
+        assertThat(redisTemplate.hasKey(previous)).isFalse();
+    }
+
+    private String key(String carId) {
+        return "expertise:read:" + catalog.current().contentKey() + ":" + carId;
+    }
+
+    private static Question question(String text) {
+        Question question = new Question();
+        question.setId(1L);
+        question.setText(text);
+        return question;
+    }
+
+    private static ReadExpertiseResponse response(String carId, UUID expertiseId) {
+        return new ReadExpertiseResponse(carId, expertiseId, List.of());
+    }
+}
@@ -0,0 +1,243 @@
+package com.ttexpertise.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import org.HdrHistogram.Histogram;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Yük testleri için veri seed'i ve HTTP trafik üreticisi. Araç id'leri {@code LT-0 .. LT-(cars-1)}'dir;
+ * istemciler kapalı döngüdür (bir istek bitmeden sonrakini göndermez) ve sanal thread'lerde çalışır,
+ * böylece ölçülen taraf sunucu olur. Gecikmeler mikro saniye olarak HdrHistogram'a yazılır.
+ */
+final class LoadDriver {
+
+    // Gerçekçi dağılım: cevapların ~%30'u "Evet", her "Evet" 1-3 fotoğraflı
+    private static final double YES_RATIO = 0.3;
+    private static final long SEED_CHUNK = 200_000;
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    // Tek ifadede ekspertiz -> cevap -> fotoğraf; random() satır başına hesaplanır
+    private static final String SEED_SQL = """
+            WITH e AS (
+                INSERT INTO expertise (id, car_id, created_at)
+                SELECT gen_random_uuid(), 'LT-' || (i % ?), TIMESTAMPTZ '2024-01-01' + i * INTERVAL '1 second'
+                FROM generate_series(?::bigint, ?::bigint) AS i
+                RETURNING id
+            ), a AS (
+                INSERT INTO answer (id, expertise_id, question_id, value, description)
+                SELECT gen_random_uuid(), s.expertise_id, s.question_id, s.yes,
+                       CASE WHEN s.yes THEN 'Hasar tespit edildi' END
+                FROM (SELECT e.id AS expertise_id, q.id AS question_id, random() < ? AS yes
+                      FROM e CROSS JOIN question q WHERE q.active) s
+                RETURNING id, CASE WHEN value THEN 1 + floor(random() * 3)::int ELSE 0 END AS photos
+            )
+            INSERT INTO photo (id, answer_id, url)
+            SELECT gen_random_uuid(), a.id, 'https://cdn.example.com/' || a.id || '/' || n || '.jpg'
+            FROM a CROSS JOIN LATERAL generate_series(1, a.photos) AS n
+            """;
+
+    // V4 ilk doldurmasıyla aynı özet
+    private static final String LATEST_SQL = """
+            INSERT INTO expertise_latest (car_id, expertise_id, created_at, answers)
+            SELECT e.car_id, e.id, e.created_at,
+                   COALESCE((SELECT jsonb_agg(jsonb_build_object(
+                                        'questionId', a.question_id,
+                                        'answeredYes', a.value,
+                                        'description', a.description,
+                                        'photoUrls', COALESCE((SELECT jsonb_agg(p.url) FROM photo p WHERE p.answer_id = a.id), '[]'::jsonb))
+                                    ORDER BY a.question_id)
+                             FROM answer a
+                             WHERE a.expertise_id = e.id), '[]'::jsonb)
+            FROM (SELECT DISTINCT ON (x.car_id) x.id, x.car_id, x.created_at
+                  FROM expertise x
+                  ORDER BY x.car_id, x.created_at DESC) e
+            ON CONFLICT (car_id) DO NOTHING
+            """;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final long cars;
+    private final double readRatio;
+
+    LoadDriver(ObjectMapper objectMapper, String baseUrl, long cars, double readRatio) {
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.cars = cars;
+        this.readRatio = readRatio;
+    }
+
+    /**
+     * Şema Flyway ile kurulmuş olmalı. Tek bağlantıda, parça parça ve WAL flush beklemeden yazar.
+     */
+    static void seed(DataSource dataSource, long expertises, long cars) throws SQLException {
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            jdbcTemplate.execute("SET synchronous_commit = off");
+            for (long from = 0; from < expertises; from += SEED_CHUNK) {
+                long to = Math.min(from + SEED_CHUNK, expertises) - 1;
+                jdbcTemplate.update(SEED_SQL, cars, from, to, YES_RATIO);
+            }
+            jdbcTemplate.update(LATEST_SQL);
+            jdbcTemplate.execute("ANALYZE");
+            jdbcTemplate.execute("RESET synchronous_commit");
+        }
+        System.out.printf("seeded expertises=%d cars=%d in %ds%n", expertises, Math.min(cars, expertises),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    Result run(int concurrency, Duration duration) throws InterruptedException, ExecutionException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Worker> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                Worker worker = new Worker();
+                workers.add(worker);
+                futures.add(executor.submit(() -> worker.run(deadline)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return Result.of(workers, duration);
+    }
+
+    private final class Worker {
+
+        private final Histogram reads = new Histogram(MAX_LATENCY_MICROS, 3);
+        private final Histogram creates = new Histogram(MAX_LATENCY_MICROS, 3);
+        private long readErrors;
+        private long createErrors;
+
+        void run(long deadline) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                String carId = "LT-" + random.nextLong(cars);
+                boolean read = random.nextDouble() < readRatio;
+                long start = System.nanoTime();
+                boolean ok = read ? read(carId) : create(carId, random);
+                long micros = Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                if (read) {
+                    reads.recordValue(micros);
+                    readErrors += ok ? 0 : 1;
+                } else {
+                    creates.recordValue(micros);
+                    createErrors += ok ? 0 : 1;
+                }
+            }
+        }
+
+        private boolean read(String carId) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/expertises/" + carId))
+                    .header("Accept-Encoding", "gzip")
+                    .GET()
+                    .build();
+            return send(request) == 200;
+        }
+
+        private boolean create(String carId, ThreadLocalRandom random) {
+            try {
+                byte[] body = objectMapper.writeValueAsBytes(createRequest(carId, random));
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/expertises"))
+                        .header("Content-Type", "application/json")
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build();
+                return send(request) == 201;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        private int send(HttpRequest request) {
+            try {
+                return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                return -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            }
+        }
+    }
+
+    private static CreateExpertiseRequest createRequest(String carId, ThreadLocalRandom random) {
+        // V2 seed'deki 5 soru
+        return new CreateExpertiseRequest(carId, LongStream.rangeClosed(1, 5)
+                .mapToObj(questionId -> {
+                    boolean yes = random.nextDouble() < YES_RATIO;
+                    List<String> photos = yes
+                            ? LongStream.rangeClosed(1, 1 + random.nextInt(3))
+                                    .mapToObj(n -> "https://cdn.example.com/" + carId + "/" + questionId + "/" + n + ".jpg")
+                                    .toList()
+                            : List.of();
+                    return new CreateExpertiseRequest.AnswerPayload(questionId, yes, yes ? "Hasar tespit edildi" : null, photos);
+                })
+                .toList());
+    }
+
+    record Result(double throughputPerSecond, Map<String, Operation> operations) {
+
+        static Result of(List<Worker> workers, Duration duration) {
+            Histogram reads = new Histogram(MAX_LATENCY_MICROS, 3);
+            Histogram creates = new Histogram(MAX_LATENCY_MICROS, 3);
+            long readErrors = 0;
+            long createErrors = 0;
+            for (Worker worker : workers) {
+                reads.add(worker.reads);
+                creates.add(worker.creates);
+                readErrors += worker.readErrors;
+                createErrors += worker.createErrors;
+            }
+            double seconds = duration.toNanos() / 1e9;
+            Map<String, Operation> operations = new LinkedHashMap<>();
+            operations.put("read", Operation.of(reads, readErrors, seconds));
+            operations.put("create", Operation.of(creates, createErrors, seconds));
+            return new Result((reads.getTotalCount() + creates.getTotalCount()) / seconds, operations);
+        }
+    }
+
+    record Operation(long count, long errors, double throughputPerSecond, Map<String, Double> latencyMs) {
+
+        static Operation of(Histogram histogram, long errors, double seconds) {
+            Map<String, Double> latencyMs = new LinkedHashMap<>();
+            latencyMs.put("p50", millis(histogram.getValueAtPercentile(50)));
+            latencyMs.put("p95", millis(histogram.getValueAtPercentile(95)));
+            latencyMs.put("p99", millis(histogram.getValueAtPercentile(99)));
+            latencyMs.put("p99.9", millis(histogram.getValueAtPercentile(99.9)));
+            latencyMs.put("max", millis(histogram.getMaxValue()));
+            return new Operation(histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds, latencyMs);
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
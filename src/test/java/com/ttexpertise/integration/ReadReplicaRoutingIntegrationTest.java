@@ -0,0 +1,161 @@
+package com.ttexpertise.integration;
+
+import com.ttexpertise.business.service.ExpertiseService;
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.service.ExpertiseReadCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primary ve ondan akış replikasyonuyla beslenen bir replika: okumaların yönlendirilmesi, "kendi yazdığını oku"
+ * penceresi ve replika geride kaldığında primary'ye dönüş.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final Network NETWORK = Network.newNetwork();
+
+    // İlk kurulumda replikasyon kullanıcısı ve pg_hba kaydı
+    private static final String REPLICATION_INIT = """
+            psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" \
+                 -c "CREATE ROLE repl WITH REPLICATION LOGIN PASSWORD 'repl'"
+            echo "host replication repl all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+            """;
+
+    // Primary hazır olana kadar temel yedek alınır, ardından standby olarak başlatılır
+    private static final String STANDBY_START = "until pg_basebackup -h primary -U repl -D \"$PGDATA\" -R -X stream; "
+            + "do rm -rf \"$PGDATA\"/*; sleep 1; done; chmod 700 \"$PGDATA\" && exec postgres";
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withCopyToContainer(Transferable.of(REPLICATION_INIT), "/docker-entrypoint-initdb.d/replication.sh");
+
+    @Container
+    static GenericContainer<?> replica = new GenericContainer<>("postgres:16")
+            .withNetwork(NETWORK)
+            .withEnv("PGPASSWORD", "repl")
+            .withExposedPorts(5432)
+            .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres").withEntrypoint("bash", "-c", STANDBY_START))
+            .dependsOn(primary)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("expertise.replica.enabled", () -> "true");
+        registry.add("expertise.replica.url", ReadReplicaRoutingIntegrationTest::replicaUrl);
+        registry.add("expertise.replica.username", primary::getUsername);
+        registry.add("expertise.replica.password", primary::getPassword);
+        registry.add("expertise.replica.read-your-writes-window", () -> "PT1S");
+        registry.add("expertise.replica.max-lag", () -> "PT2S");
+        registry.add("expertise.replica.lag-check-interval", () -> "PT0.2S");
+    }
+
+    @Autowired
+    private ExpertiseService expertiseService;
+
+    @Autowired
+    private ExpertiseReadCache readCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldReadOwnWritesFromPrimaryThenFromReplica() throws InterruptedException {
+        // Given
+        awaitReplicaHealthy(true);
+        UUID id = expertiseService.create(request("CAR-RYW"));
+        double replicaReads = routed("replica");
+
+        // When - pencere içinde okuma primary'den yapılır
+        UUID ownRead = expertiseService.readForCar("CAR-RYW").expertiseId();
+
+        // Then
+        assertThat(ownRead).isEqualTo(id);
+        assertThat(routed("replica")).isEqualTo(replicaReads);
+
+        // When - pencere geçince aynı araç replikadan okunur
+        Thread.sleep(1_200);
+        readCache.evictLocal("CAR-RYW");
+        UUID replicaRead = expertiseService.readForCar("CAR-RYW").expertiseId();
+
+        // Then
+        assertThat(replicaRead).isEqualTo(id);
+        assertThat(routed("replica")).isGreaterThan(replicaReads);
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhileReplicaLags() throws InterruptedException {
+        // Given - replika WAL'ı alıyor ama uygulamıyor
+        awaitReplicaHealthy(true);
+        JdbcTemplate replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(replicaUrl(), "test", "test"));
+        replicaJdbc.execute("SELECT pg_wal_replay_pause()");
+        try {
+            UUID id = expertiseService.create(request("CAR-LAG"));
+            awaitReplicaHealthy(false);
+            Thread.sleep(1_200);
+            readCache.evictLocal("CAR-LAG");
+            double replicaReads = routed("replica");
+
+            // When
+            UUID read = expertiseService.readForCar("CAR-LAG").expertiseId();
+
+            // Then - replika bu kaydı henüz görmüyor; okuma primary'den gelir
+            assertThat(read).isEqualTo(id);
+            assertThat(routed("replica")).isEqualTo(replicaReads);
+        } finally {
+            replicaJdbc.execute("SELECT pg_wal_replay_resume()");
+        }
+        awaitReplicaHealthy(true);
+    }
+
+    private void awaitReplicaHealthy(boolean healthy) throws InterruptedException {
+        long deadline = System.nanoTime() + 20_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            if ((meterRegistry.get("db.replica.healthy").gauge().value() == 1) == healthy) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("replica healthy=" + healthy + " beklenirken zaman aşımı");
+    }
+
+    private double routed(String target) {
+        return meterRegistry.get("db.replica.routed").tag("target", target).counter().count();
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://" + replica.getHost() + ":" + replica.getMappedPort(5432) + "/testdb";
+    }
+
+    private static CreateExpertiseRequest request(String carId) {
+        return new CreateExpertiseRequest(carId, List.of(
+                new CreateExpertiseRequest.AnswerPayload(1L, false, null, List.of())));
+    }
+}
@@ -0,0 +1,128 @@
+package com.ttexpertise.integration;
+
+import com.ttexpertise.service.RedisIdempotencyService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Check-then-mark akışı ile atomik reserveOrGet'in gecikme karşılaştırması.
+ * Varsayılan test koşusundan hariçtir: {@code ./mvnw test -Dtest.excludedGroups= -Dgroups=benchmark}
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class RedisIdempotencyBenchmarkTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 20_000;
+    private static final int BATCH_SIZE = 100;
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisIdempotencyService service;
+
+    @BeforeAll
+    static void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        service = new RedisIdempotencyService(new StringRedisTemplate(connectionFactory));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void reserveOrGetShouldBeFasterThanCheckThenMark() {
+        // Given - her iterasyon yeni anahtar: tipik istek
+        String run = UUID.randomUUID().toString();
+
+        // When
+        long[] checkThenMark = measure(i -> {
+            String key = run + ":legacy:" + i;
+            if (!service.isDuplicate(key)) {
+                service.markAsProcessed(key, "pending");
+            } else {
+                service.getResult(key);
+            }
+        });
+        long[] reserve = measure(i -> service.reserveOrGet(run + ":atomic:" + i, Duration.ofHours(1)));
+
+        // Then
+        report("check-then-mark", checkThenMark);
+        report("reserveOrGet", reserve);
+        assertThat(percentile(reserve, 50)).isLessThan(percentile(checkThenMark, 50));
+    }
+
+    @Test
+    void pipelinedBatchShouldBeFasterThanPerKeyCalls() {
+        // Given
+        String run = UUID.randomUUID().toString();
+
+        // When
+        long[] perKey = measureBatches(i -> keys(run + ":single:" + i).forEach(key -> service.reserveOrGet(key, Duration.ofHours(1))));
+        long[] pipelined = measureBatches(i -> service.reserveOrGetAll(keys(run + ":pipelined:" + i), Duration.ofHours(1)));
+
+        // Then
+        report("per-key x" + BATCH_SIZE, perKey);
+        report("pipelined x" + BATCH_SIZE, pipelined);
+        assertThat(percentile(pipelined, 50)).isLessThan(percentile(perKey, 50));
+    }
+
+    private static long[] measure(IntConsumer operation) {
+        IntStream.range(0, WARMUP).forEach(i -> operation.accept(-i - 1));
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            operation.accept(i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static long[] measureBatches(IntConsumer operation) {
+        IntStream.range(0, WARMUP / BATCH_SIZE).forEach(i -> operation.accept(-i - 1));
+        long[] samples = new long[ITERATIONS / BATCH_SIZE];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            operation.accept(i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static List<String> keys(String prefix) {
+        return IntStream.range(0, BATCH_SIZE).mapToObj(i -> prefix + ":" + i).toList();
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    private static void report(String name, long[] sorted) {
+        System.out.printf("%-20s p50=%6dµs p99=%6dµs max=%6dµs%n", name,
+                percentile(sorted, 50) / 1_000, percentile(sorted, 99) / 1_000, sorted[sorted.length - 1] / 1_000);
+    }
+}
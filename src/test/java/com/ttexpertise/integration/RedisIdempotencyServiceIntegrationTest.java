@@ -0,0 +1,83 @@
+package com.ttexpertise.integration;
+
+import com.ttexpertise.service.IdempotencyService;
+import com.ttexpertise.service.RedisIdempotencyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RedisIdempotencyServiceIntegrationTest {
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RedisIdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        service = new RedisIdempotencyService(redisTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void shouldReserveOnceAndReturnExistingValueAfterwards() {
+        // When
+        String first = service.reserveOrGet("key-1", Duration.ofMinutes(1));
+        String second = service.reserveOrGet("key-1", Duration.ofMinutes(1));
+        service.markAsProcessed("key-1", "done");
+        String third = service.reserveOrGet("key-1", Duration.ofMinutes(1));
+
+        // Then
+        assertThat(first).isNull();
+        assertThat(second).isEqualTo(IdempotencyService.IN_PROGRESS);
+        assertThat(third).isEqualTo("done");
+    }
+
+    @Test
+    void shouldApplyTtlToReservation() {
+        // When
+        service.reserveOrGet("key-1", Duration.ofSeconds(30));
+
+        // Then
+        assertThat(redisTemplate.getExpire("idempotency:key-1")).isBetween(1L, 30L);
+    }
+
+    @Test
+    void shouldHandleMultiKeyVariantsInOneRoundTrip() {
+        // Given
+        service.markAllAsProcessed(Map.of("a", "1", "b", "2"), Duration.ofMinutes(1));
+
+        // When
+        Map<String, String> results = service.getResults(List.of("a", "b", "c"));
+        Map<String, String> existing = service.reserveOrGetAll(List.of("a", "c"), Duration.ofMinutes(1));
+
+        // Then
+        assertThat(results).containsExactlyInAnyOrderEntriesOf(Map.of("a", "1", "b", "2"));
+        assertThat(existing).containsExactlyInAnyOrderEntriesOf(Map.of("a", "1"));
+        assertThat(service.getResult("c")).isEqualTo(IdempotencyService.IN_PROGRESS);
+    }
+}
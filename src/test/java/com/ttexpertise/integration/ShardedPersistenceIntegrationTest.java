@@ -0,0 +1,147 @@
+package com.ttexpertise.integration;
+
+import com.ttexpertise.business.service.ExpertiseChangeFeedService;
+import com.ttexpertise.business.service.ExpertiseExportService;
+import com.ttexpertise.business.service.ExpertiseService;
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.model.dto.ExpertiseChangePage;
+import com.ttexpertise.model.dto.ExportFormat;
+import com.ttexpertise.model.dto.ReadExpertiseResponse;
+import com.ttexpertise.service.ShardRouting;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * carId'ye göre üç PostgreSQL'e dağıtılmış kalıcılık: her kayıt yalnızca kendi shard'ında durur, toplu okuma,
+ * dışa aktarma ve değişiklik akışı tüm shard'ları kapsar.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ShardedPersistenceIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> shard0 = shard();
+
+    @Container
+    static PostgreSQLContainer<?> shard1 = shard();
+
+    @Container
+    static PostgreSQLContainer<?> shard2 = shard();
+
+    private static final List<PostgreSQLContainer<?>> SHARDS = List.of(shard0, shard1, shard2);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", shard0::getJdbcUrl);
+        registry.add("spring.datasource.username", shard0::getUsername);
+        registry.add("spring.datasource.password", shard0::getPassword);
+        registry.add("expertise.sharding.enabled", () -> "true");
+        registry.add("expertise.sharding.urls",
+                () -> String.join(",", shard0.getJdbcUrl(), shard1.getJdbcUrl(), shard2.getJdbcUrl()));
+    }
+
+    @Autowired
+    private ExpertiseService expertiseService;
+
+    @Autowired
+    private ExpertiseExportService exportService;
+
+    @Autowired
+    private ExpertiseChangeFeedService changeFeedService;
+
+    @Autowired
+    private ShardRouting shardRouting;
+
+    @Test
+    void shouldMigrateEveryShard() {
+        // Then - şema ve seed sorular her shard'da
+        for (PostgreSQLContainer<?> shard : SHARDS) {
+            assertThat(jdbc(shard).queryForObject("SELECT count(*) FROM flyway_schema_history WHERE success", Integer.class))
+                    .isPositive();
+            assertThat(jdbc(shard).queryForObject("SELECT count(*) FROM question", Integer.class)).isPositive();
+        }
+    }
+
+    @Test
+    void shouldStoreEachCarOnlyOnItsShardAndReadAcrossShards() throws IOException {
+        // Given - her shard'a düşen araçlar olacak kadar araç
+        Instant from = Instant.now().minus(1, ChronoUnit.MINUTES);
+        List<String> carIds = IntStream.range(0, 30).mapToObj(i -> "CAR-SHARD-" + i).toList();
+        Map<String, UUID> ids = new LinkedHashMap<>();
+        carIds.forEach(carId -> ids.put(carId, expertiseService.create(request(carId))));
+        assertThat(carIds.stream().map(shardRouting::shardOf).distinct()).hasSize(SHARDS.size());
+
+        // When & Then - satır yalnızca sahibi olan shard'da
+        for (String carId : carIds) {
+            for (int shard = 0; shard < SHARDS.size(); shard++) {
+                Integer rows = jdbc(SHARDS.get(shard)).queryForObject(
+                        "SELECT count(*) FROM expertise WHERE car_id = ?", Integer.class, carId);
+                assertThat(rows).as("%s shard %d", carId, shard).isEqualTo(shard == shardRouting.shardOf(carId) ? 1 : 0);
+            }
+            assertThat(expertiseService.readForCar(carId).expertiseId()).isEqualTo(ids.get(carId));
+        }
+
+        // When & Then - toplu okuma tüm shard'lardan toplanır
+        Map<String, ReadExpertiseResponse> batch = expertiseService.readForCars(carIds);
+        assertThat(batch.keySet()).containsExactlyElementsOf(carIds);
+        assertThat(batch.values()).extracting(ReadExpertiseResponse::expertiseId).containsExactlyElementsOf(ids.values());
+
+        // When & Then - dışa aktarma tüm shard'ları created_at sırasıyla birleştirir
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(from, Instant.now().plus(1, ChronoUnit.MINUTES), ExportFormat.CSV, out);
+        List<String> exportedIds = out.toString(StandardCharsets.UTF_8).lines().skip(1)
+                .map(line -> line.substring(0, line.indexOf(','))).distinct().toList();
+        assertThat(exportedIds).containsAll(ids.values().stream().map(UUID::toString).toList());
+
+        // When & Then - değişiklik akışı sayfa sayfa tüm shard'ları kapsar
+        Set<UUID> fed = new HashSet<>();
+        String since = null;
+        ExpertiseChangePage page;
+        do {
+            page = changeFeedService.changesSince(since, carIds, 7);
+            page.items().forEach(entry -> assertThat(fed.add(entry.expertiseId())).isTrue());
+            since = page.nextSince();
+        } while (page.hasMore());
+        assertThat(fed).containsExactlyInAnyOrderElementsOf(ids.values());
+        assertThat(changeFeedService.changesSince(since, carIds, 7).items()).isEmpty();
+    }
+
+    private static JdbcTemplate jdbc(PostgreSQLContainer<?> shard) {
+        return new JdbcTemplate(new DriverManagerDataSource(shard.getJdbcUrl(), shard.getUsername(), shard.getPassword()));
+    }
+
+    private static PostgreSQLContainer<?> shard() {
+        return new PostgreSQLContainer<>("postgres:16")
+                .withDatabaseName("testdb")
+                .withUsername("test")
+                .withPassword("test");
+    }
+
+    private static CreateExpertiseRequest request(String carId) {
+        return new CreateExpertiseRequest(carId, List.of(
+                new CreateExpertiseRequest.AnswerPayload(1L, false, null, List.of())));
+    }
+}
@@ -0,0 +1,107 @@
+package com.ttexpertise.integration;
+
+import com.ttexpertise.business.service.ExpertiseService;
+import com.ttexpertise.config.SqlStatementCounter;
+import com.ttexpertise.model.dto.CreateExpertiseRequest;
+import com.ttexpertise.model.dto.ExpertiseHistoryPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Okuma/yazma yollarının tam SQL statement sayıları; N+1 gerilemesi bu testi kırar.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class SqlStatementCountIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ExpertiseService expertiseService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldUseConstantStatementsRegardlessOfAnswerAndPhotoCount() throws Exception {
+        // Given - 5 soru, her biri 3 fotoğraflı
+        CreateExpertiseRequest request = new CreateExpertiseRequest("CAR-SQL", List.of(
+                answer(1), answer(2), answer(3), answer(4), answer(5)));
+
+        // When & Then - yazma: expertise, answer, photo batch'leri ve özet upsert'i
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            expertiseService.create(request);
+            assertThat(scope.statements()).isEqualTo(4);
+            assertThat(scope.entityLoads()).isZero();
+        }
+        expertiseService.create(request);
+
+        // Okuma: cache boşken tek primary key araması, doluyken hiç sorgu
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            expertiseService.readForCar("CAR-SQL");
+            assertThat(scope.statements()).isEqualTo(1);
+            assertThat(scope.entityLoads()).isEqualTo(1);
+        }
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            expertiseService.readForCar("CAR-SQL");
+            assertThat(scope.statements()).isZero();
+        }
+
+        // Geçmiş: sayfa sorgusu ve tüm cevap/fotoğraflar için tek sorgu
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            ExpertiseHistoryPage page = expertiseService.history("CAR-SQL", null, 20);
+            assertThat(page.items()).hasSize(2);
+            assertThat(scope.statements()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void shouldPublishPerEndpointStatementHistogram() throws Exception {
+        // When
+        mockMvc.perform(get("/api/v1/expertises/{carId}/history", "CAR-METRICS"))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(meterRegistry.get("sql.statements.per.request")
+                .tag("method", "GET")
+                .tag("uri", "/api/v1/expertises/{carId}/history")
+                .summary().totalAmount()).isEqualTo(1);
+    }
+
+    private static CreateExpertiseRequest.AnswerPayload answer(long questionId) {
+        return new CreateExpertiseRequest.AnswerPayload(questionId, true, "Soru " + questionId, List.of(
+                "https://example.com/" + questionId + "/1.jpg",
+                "https://example.com/" + questionId + "/2.jpg",
+                "https://example.com/" + questionId + "/3.jpg"));
+    }
+}
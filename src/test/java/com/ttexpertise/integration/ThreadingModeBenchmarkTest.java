@@ -0,0 +1,97 @@
+package com.ttexpertise.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ttexpertise.TtExpertiseApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aynı veri ve aynı trafikle platform thread (Tomcat havuzu, varsayılan 200) ve sanal thread modlarının
+ * verim ve kuyruk gecikmesi karşılaştırması. İstemci sayısı Tomcat havuzunu aşacak şekilde seçilir; DB havuzu
+ * iki modda da aynıdır. Sonuç {@code target/benchmark/threading-mode.json}'a yazılır:
+ * {@code ./mvnw test -Dtest.excludedGroups= -Dgroups=benchmark -Dtest=ThreadingModeBenchmarkTest}
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class ThreadingModeBenchmarkTest {
+
+    private static final long EXPERTISES = Long.getLong("benchmark.expertises", 200_000);
+    private static final long CARS = Long.getLong("benchmark.cars", 100_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.pool-size", 20);
+    private static final Duration WARMUP = Duration.ofSeconds(20);
+    private static final Duration DURATION = Duration.ofSeconds(60);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("postgres", "-c", "max_connections=200");
+
+    @Test
+    void shouldCompareVirtualAndPlatformThreads() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Map<String, LoadDriver.Result> results = new LinkedHashMap<>();
+        boolean seeded = false;
+
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext app = start(virtual)) {
+                if (!seeded) {
+                    LoadDriver.seed(app.getBean(DataSource.class), EXPERTISES, CARS);
+                    seeded = true;
+                }
+                LoadDriver driver = new LoadDriver(objectMapper,
+                        "http://localhost:" + app.getEnvironment().getProperty("local.server.port"), CARS, 0.9);
+
+                // When
+                driver.run(CONCURRENCY, WARMUP);
+                results.put(virtual ? "virtual" : "platform", driver.run(CONCURRENCY, DURATION));
+            }
+        }
+
+        // Then
+        Path report = Path.of("target/benchmark/threading-mode.json");
+        Files.createDirectories(report.getParent());
+        objectMapper.writeValue(report.toFile(), Map.of("concurrency", CONCURRENCY, "poolSize", POOL_SIZE, "results", results));
+        results.forEach((mode, result) -> System.out.printf("%-8s throughput=%.0f/s read p99=%.1fms p99.9=%.1fms create p99=%.1fms%n",
+                mode, result.throughputPerSecond(),
+                result.operations().get("read").latencyMs().get("p99"),
+                result.operations().get("read").latencyMs().get("p99.9"),
+                result.operations().get("create").latencyMs().get("p99")));
+        assertThat(results.values()).allSatisfy(result -> assertThat(result.operations().values())
+                .allSatisfy(operation -> assertThat(operation.errors()).isZero()));
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(TtExpertiseApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "expertise.db.max-concurrency=" + POOL_SIZE,
+                        // Uzun bekleyişler hata değil gecikme olarak ölçülsün
+                        "expertise.db.acquire-timeout=PT30S",
+                        "spring.datasource.hikari.connection-timeout=30000")
+                .run();
+    }
+}
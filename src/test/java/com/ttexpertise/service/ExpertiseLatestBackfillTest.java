@@ -0,0 +1,46 @@
+package com.ttexpertise.service;
+
+import com.ttexpertise.repository.ExpertiseLatestRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpertiseLatestBackfillTest {
+
+    @Mock
+    private ExpertiseLatestRepository latestRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldRefreshCarsBatchByBatchUsingKeysetCursor() {
+        // Given
+        ExpertiseLatestBackfill backfill = new ExpertiseLatestBackfill(latestRepository,
+                new TransactionTemplate(transactionManager), new ShardRouting(false, List.of()), 2);
+        when(latestRepository.findCarIdsWithExpertiseAfter("", 2)).thenReturn(List.of("CAR1", "CAR2"));
+        when(latestRepository.findCarIdsWithExpertiseAfter("CAR2", 2)).thenReturn(List.of("CAR3"));
+        when(latestRepository.findCarIdsWithExpertiseAfter("CAR3", 2)).thenReturn(List.of());
+
+        // When
+        long cars = backfill.run();
+
+        // Then
+        assertThat(cars).isEqualTo(3);
+        InOrder inOrder = inOrder(latestRepository);
+        inOrder.verify(latestRepository).refreshForCars(List.of("CAR1", "CAR2"));
+        inOrder.verify(latestRepository).refreshForCars(List.of("CAR3"));
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(backfill.progress().lastCarId()).isEqualTo("CAR3");
+    }
+}
@@ -0,0 +1,250 @@
+package com.ttexpertise.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ttexpertise.model.dto.EncodedReadResponse;
+import com.ttexpertise.model.dto.ReadExpertiseResponse;
+import com.ttexpertise.model.entity.Question;
+import com.ttexpertise.model.event.ExpertiseCreatedEvent;
+import com.ttexpertise.model.event.QuestionCatalogChangedEvent;
+import com.ttexpertise.repository.QuestionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExpertiseReadCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExpertiseReadCache readCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        readCache = new ExpertiseReadCache(null, new ObjectMapper(),
+                new QuestionCatalog(mock(QuestionRepository.class), event -> { }), meterRegistry,
+                100, Duration.ofMinutes(5), false, Duration.ofMinutes(30), 256);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromL1() {
+        // When
+        readCache.get("CAR123", this::load);
+        EncodedReadResponse second = readCache.get("CAR123", this::load);
+
+        // Then
+        assertThat(second.response().carId()).isEqualTo("CAR123");
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "expertise-read-l1").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldReloadAfterExpertiseCreated() {
+        // Given
+        readCache.get("CAR123", this::load);
+
+        // When
+        readCache.onExpertiseCreated(new ExpertiseCreatedEvent(UUID.randomUUID(), "CAR123"));
+        readCache.get("CAR123", this::load);
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldOnlyEvictTheCreatedCar() {
+        // Given
+        readCache.get("CAR123", this::load);
+        readCache.get("CAR456", this::load);
+
+        // When
+        readCache.evictLocal("CAR123");
+        readCache.get("CAR456", this::load);
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldLoadOnlyMissingCarsInBatch() {
+        // Given
+        readCache.get("CAR1", this::load);
+        List<Collection<String>> batches = new ArrayList<>();
+
+        // When
+        Map<String, EncodedReadResponse> result = readCache.getAll(List.of("CAR2", "CAR1", "CAR3"), missing -> {
+            batches.add(missing);
+            Map<String, ReadExpertiseResponse> loaded = new HashMap<>();
+            missing.forEach(carId -> loaded.put(carId, load(carId)));
+            return loaded;
+        });
+
+        // Then
+        assertThat(result.keySet()).containsExactly("CAR2", "CAR1", "CAR3");
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder("CAR2", "CAR3");
+    }
+
+    @Test
+    void shouldSerializeOnceAndKeepBytesUntilEvicted() throws IOException {
+        // Given - gzip eşiğini aşan bir cevap
+        ReadExpertiseResponse large = new ReadExpertiseResponse("CAR123", null, IntStream.range(0, 20)
+                .mapToObj(i -> new ReadExpertiseResponse.QuestionItem((long) i, "Soru " + i,
+                        new ReadExpertiseResponse.Previous(false, null, List.of())))
+                .toList());
+
+        // When
+        EncodedReadResponse first = readCache.get("CAR123", carId -> large);
+        EncodedReadResponse second = readCache.get("CAR123", carId -> large);
+        readCache.evictLocal("CAR123");
+        EncodedReadResponse reloaded = readCache.get("CAR123", carId -> large);
+
+        // Then
+        assertThat(second.json()).isSameAs(first.json());
+        assertThat(new ObjectMapper().readValue(first.json(), ReadExpertiseResponse.class)).isEqualTo(large);
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(first.gzip())).readAllBytes()).isEqualTo(first.json());
+        assertThat(first.etag()).startsWith("W/\"");
+        assertThat(reloaded.json()).isNotSameAs(first.json());
+        assertThat(reloaded.etag()).isEqualTo(first.etag());
+    }
+
+    @Test
+    void shouldSkipGzipForSmallResponses() {
+        // When
+        EncodedReadResponse encoded = readCache.get("CAR123", this::load);
+
+        // Then
+        assertThat(encoded.gzip()).isNull();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMissesWhileLoadingOutsideMapLock() throws Exception {
+        // Given - ilk yükleme bloklanır; aynı anahtardaki ikinci okuma onu beklemeli, başka anahtar beklememeli
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = Thread.ofVirtual().start(() -> readCache.get("CAR123", carId -> {
+            loading.countDown();
+            await(release);
+            return load(carId);
+        }));
+        loading.await();
+        Thread second = Thread.ofVirtual().start(() -> readCache.get("CAR123", this::load));
+
+        // When
+        EncodedReadResponse other = readCache.get("CAR456", this::load);
+        release.countDown();
+        first.join();
+        second.join();
+
+        // Then
+        assertThat(other.response().carId()).isEqualTo("CAR456");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldRetryLoadAfterFailure() {
+        // Given
+        assertThatThrownBy(() -> readCache.get("CAR123", carId -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("db down");
+
+        // When
+        EncodedReadResponse encoded = readCache.get("CAR123", this::load);
+
+        // Then
+        assertThat(encoded.response().carId()).isEqualTo("CAR123");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldRetryLoadAfterError() {
+        // Given - Error da future'ı tamamlar; aksi halde sonraki okumalar tamamlanmayan future'da asılı kalır
+        assertThatThrownBy(() -> readCache.get("CAR123", carId -> {
+            throw new AssertionError("loader bug");
+        })).isInstanceOf(AssertionError.class).hasMessage("loader bug");
+
+        // When
+        EncodedReadResponse encoded = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> readCache.get("CAR123", this::load));
+
+        // Then
+        assertThat(encoded.response().carId()).isEqualTo("CAR123");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadL2UnderNewKeyAfterCatalogChange() {
+        // Given - L2 açık, katalog bir kez yüklü
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        QuestionRepository questionRepository = mock(QuestionRepository.class);
+        when(questionRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(question("Kaputta göçük var mı?")))
+                .thenReturn(List.of(question("Kaputta çizik var mı?")));
+        QuestionCatalog catalog = new QuestionCatalog(questionRepository, event -> { });
+        catalog.refresh();
+        ExpertiseReadCache l2Cache = new ExpertiseReadCache(redisTemplate, new ObjectMapper(), catalog,
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(5), true, Duration.ofMinutes(30), 256);
+        String before = "expertise:read:" + catalog.current().contentKey() + ":CAR123";
+
+        // When - soru metni değişir
+        catalog.refresh();
+        l2Cache.onQuestionCatalogChanged(new QuestionCatalogChangedEvent(2L));
+        l2Cache.get("CAR123", this::load);
+
+        // Then - eski katalogla yazılmış L2 girdisi okunmaz
+        String after = "expertise:read:" + catalog.current().contentKey() + ":CAR123";
+        assertThat(after).isNotEqualTo(before);
+        verify(values).get(after);
+        verify(values, never()).get(before);
+    }
+
+    private static Question question(String text) {
+        Question question = new Question();
+        question.setId(1L);
+        question.setText(text);
+        return question;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ReadExpertiseResponse load(String carId) {
+        loads.incrementAndGet();
+        return new ReadExpertiseResponse(carId, null, List.of());
+    }
+}
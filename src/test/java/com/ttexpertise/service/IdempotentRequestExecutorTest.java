@@ -0,0 +1,232 @@
+package com.ttexpertise.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ttexpertise.model.dto.CreateExpertiseResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+class IdempotentRequestExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private InMemoryIdempotencyService idempotencyService;
+    private IdempotentRequestExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new InMemoryIdempotencyService(meterRegistry, 1_000_000);
+        executor = new IdempotentRequestExecutor(idempotencyService, objectMapper, meterRegistry,
+                Duration.ofSeconds(30), Duration.ofMillis(300));
+    }
+
+    @Test
+    void shouldReplayStoredResultWithoutRunningActionAgain() {
+        // Given
+        UUID id = UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        CreateExpertiseResponse first = executor.execute("k", "body", CreateExpertiseResponse.class,
+                () -> new CreateExpertiseResponse(id(calls, id)));
+        CreateExpertiseResponse second = executor.execute("k", "body", CreateExpertiseResponse.class,
+                () -> new CreateExpertiseResponse(id(calls, UUID.randomUUID())));
+
+        // Then
+        assertThat(first.id()).isEqualTo(id);
+        assertThat(second.id()).isEqualTo(id);
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.get("idempotency.replays").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentDuplicatesIntoOneExecution() throws Exception {
+        // Given - ilk istek bırakılana kadar bloklanır
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        UUID id = UUID.randomUUID();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        executor = new IdempotentRequestExecutor(idempotencyService, objectMapper, meterRegistry,
+                Duration.ofSeconds(30), Duration.ofSeconds(5));
+
+        // When
+        List<Future<CreateExpertiseResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() -> executor.execute("k", "body", CreateExpertiseResponse.class, () -> {
+                calls.incrementAndGet();
+                await(release);
+                return new CreateExpertiseResponse(id);
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // Then
+        for (Future<CreateExpertiseResponse> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS).id()).isEqualTo(id);
+        }
+        pool.shutdown();
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.get("idempotency.coalesced").tag("scope", "local").counter().count()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldReleaseKeyWhenActionFails() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        assertThatThrownBy(() -> executor.execute("k", "body", CreateExpertiseResponse.class, () -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("Question not found: 99");
+        })).isInstanceOf(IllegalArgumentException.class);
+        CreateExpertiseResponse retried = executor.execute("k", "body", CreateExpertiseResponse.class,
+                () -> new CreateExpertiseResponse(id(calls, UUID.randomUUID())));
+
+        // Then
+        assertThat(retried.id()).isNotNull();
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void shouldWaitForRequestInFlightOnAnotherNode() throws Exception {
+        // Given - başka node anahtarı ayırmış, kısa süre sonra sonucu yazıyor
+        UUID id = UUID.randomUUID();
+        idempotencyService.reserveOrGet("k", Duration.ofSeconds(30));
+        Thread writer = Thread.ofVirtual().start(() -> {
+            sleep(100);
+            idempotencyService.markAsProcessed("k", "{\"id\":\"" + id + "\"}");
+        });
+
+        // When
+        CreateExpertiseResponse response = executor.execute("k", "body", CreateExpertiseResponse.class,
+                () -> { throw new AssertionError("must not run"); });
+
+        // Then
+        writer.join();
+        assertThat(response.id()).isEqualTo(id);
+        assertThat(meterRegistry.get("idempotency.coalesced").tag("scope", "remote").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailWithConflictWhenOtherNodeDoesNotFinishInTime() {
+        // Given
+        idempotencyService.reserveOrGet("k", Duration.ofSeconds(30));
+
+        // When & Then
+        assertThatThrownBy(() -> executor.execute("k", "body", CreateExpertiseResponse.class,
+                () -> new CreateExpertiseResponse(UUID.randomUUID())))
+                .isInstanceOf(IdempotencyConflictException.class);
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithDifferentBody() {
+        // Given
+        UUID id = UUID.randomUUID();
+        executor.execute("k", "body", CreateExpertiseResponse.class, () -> new CreateExpertiseResponse(id));
+
+        // When & Then
+        assertThatThrownBy(() -> executor.execute("k", "other body", CreateExpertiseResponse.class,
+                () -> { throw new AssertionError("must not run"); }))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(executor.execute("k", "body", CreateExpertiseResponse.class,
+                () -> { throw new AssertionError("must not run"); }).id()).isEqualTo(id);
+    }
+
+    @Test
+    void shouldRejectDifferentBodyWhileKeyIsInFlight() throws Exception {
+        // Given - ilk istek bırakılana kadar bloklanır
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = Thread.ofVirtual().start(() -> executor.execute("k", "body", CreateExpertiseResponse.class, () -> {
+            started.countDown();
+            await(release);
+            return new CreateExpertiseResponse(UUID.randomUUID());
+        }));
+        started.await();
+
+        // When & Then - aynı node'daki kopya beklemeden reddedilir
+        assertThatThrownBy(() -> executor.execute("k", "other body", CreateExpertiseResponse.class,
+                () -> { throw new AssertionError("must not run"); }))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        release.countDown();
+        first.join();
+    }
+
+    @Test
+    void shouldReturnCommittedResultWhenStoringItFails() {
+        // Given - iş commit edildikten sonra depo hata verir
+        InMemoryIdempotencyService failingStore = spy(idempotencyService);
+        doThrow(new IllegalStateException("redis down"))
+                .when(failingStore).markAsProcessed(anyString(), anyString(), any(Duration.class));
+        executor = new IdempotentRequestExecutor(failingStore, objectMapper, meterRegistry,
+                Duration.ofSeconds(30), Duration.ofMillis(300));
+        UUID id = UUID.randomUUID();
+
+        // When
+        CreateExpertiseResponse response = executor.execute("k", "body", CreateExpertiseResponse.class,
+                () -> new CreateExpertiseResponse(id));
+
+        // Then - istemci sonucu alır, ayırma TTL'e kadar kopyaları tutar
+        assertThat(response.id()).isEqualTo(id);
+        assertThat(idempotencyService.getResult("k")).endsWith(IdempotencyService.IN_PROGRESS);
+    }
+
+    @Test
+    void shouldKeepReservationAliveWhileActionOutlivesItsTtl() {
+        // Given - ayırma 150 ms, istek 500 ms sürüyor
+        executor = new IdempotentRequestExecutor(idempotencyService, objectMapper, meterRegistry,
+                Duration.ofMillis(150), Duration.ofMillis(300));
+        AtomicReference<String> seenByOtherNode = new AtomicReference<>();
+
+        // When
+        executor.execute("k", "body", CreateExpertiseResponse.class, () -> {
+            sleep(500);
+            seenByOtherNode.set(idempotencyService.reserveOrGet("k", Duration.ofSeconds(30)));
+            return new CreateExpertiseResponse(UUID.randomUUID());
+        });
+
+        // Then - başka node anahtarı ayıramadı, işi tekrar başlatmadı
+        assertThat(seenByOtherNode.get()).endsWith(IdempotencyService.IN_PROGRESS);
+    }
+
+    private static UUID id(AtomicInteger calls, UUID id) {
+        calls.incrementAndGet();
+        return id;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
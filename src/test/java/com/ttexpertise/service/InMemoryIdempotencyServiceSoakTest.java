@@ -0,0 +1,60 @@
+package com.ttexpertise.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Milyonlarca anahtar altında thread sayısının ve heap'in sabit kaldığını gösterir.
+ * Çalıştırma: {@code ./mvnw test -Dtest.excludedGroups= -Dgroups=soak -Dtest=InMemoryIdempotencyServiceSoakTest}
+ */
+@Tag("soak")
+class InMemoryIdempotencyServiceSoakTest {
+
+    private static final int KEYS = 3_000_000;
+    private static final long MAX_BYTES = 16L * 1024 * 1024;
+
+    @Test
+    void shouldKeepThreadCountAndHeapFlatOverMillionsOfKeys() {
+        // Given
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(new SimpleMeterRegistry(), MAX_BYTES);
+        int threadsBefore = threads.getThreadCount();
+        long heapBefore = usedHeapAfterGc(memory);
+        long heapAtMidpoint = 0;
+
+        // When
+        for (int i = 0; i < KEYS; i++) {
+            service.markAsProcessed("key-" + i, "{\"id\":\"" + i + "\"}", Duration.ofMinutes(i % 2 == 0 ? 1 : 60));
+            if (i == KEYS / 2) {
+                service.cleanUp();
+                heapAtMidpoint = usedHeapAfterGc(memory);
+            }
+        }
+        service.cleanUp();
+        long heapAfter = usedHeapAfterGc(memory);
+        int threadsAfter = threads.getThreadCount();
+
+        // Then - anahtar başına thread yok, boyut üst sınırda sabit
+        System.out.printf("threads %d -> %d, heap %d MB -> %d MB -> %d MB, size %d%n",
+                threadsBefore, threadsAfter, heapBefore >> 20, heapAtMidpoint >> 20, heapAfter >> 20,
+                service.estimatedSize());
+        assertThat(threadsAfter - threadsBefore).isLessThanOrEqualTo(2);
+        assertThat(service.estimatedSize() * 100).isLessThan(MAX_BYTES);
+        assertThat(heapAfter - heapBefore).isLessThan(4 * MAX_BYTES);
+        assertThat(Math.abs(heapAfter - heapAtMidpoint)).isLessThan(MAX_BYTES);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,159 @@
+package com.ttexpertise.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryIdempotencyServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldReplayStoredResult() {
+        // Given
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(meterRegistry, 1_000_000);
+
+        // When
+        service.markAsProcessed("key-1", "{\"id\":\"42\"}");
+
+        // Then
+        assertThat(service.isDuplicate("key-1")).isTrue();
+        assertThat(service.getResult("key-1")).isEqualTo("{\"id\":\"42\"}");
+        assertThat(service.isDuplicate("key-2")).isFalse();
+    }
+
+    @Test
+    void shouldHonourPerEntryTtl() throws InterruptedException {
+        // Given
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(meterRegistry, 1_000_000);
+        service.markAsProcessed("short", "a", Duration.ofMillis(50));
+        service.markAsProcessed("long", "b", Duration.ofMinutes(5));
+
+        // When
+        Thread.sleep(150);
+
+        // Then
+        assertThat(service.getResult("short")).isNull();
+        assertThat(service.getResult("long")).isEqualTo("b");
+    }
+
+    @Test
+    void shouldEvictWhenByteCapIsReached() {
+        // Given - girdi başına ~100 byte, sınır ~10 girdi
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(meterRegistry, 1_000);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            service.markAsProcessed("key-" + i, "v");
+        }
+        service.cleanUp();
+
+        // Then
+        assertThat(service.estimatedSize()).isLessThanOrEqualTo(10);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "idempotency").functionCounter().count())
+            .isGreaterThanOrEqualTo(90);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "idempotency").gauge().value())
+            .isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void shouldRemoveKey() {
+        // Given
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(meterRegistry, 1_000_000);
+        service.markAsProcessed("key-1", "v");
+
+        // When
+        service.removeKey("key-1");
+
+        // Then
+        assertThat(service.isDuplicate("key-1")).isFalse();
+    }
+
+    @Test
+    void shouldReserveOnceAndReturnExistingValueAfterwards() {
+        // Given
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(meterRegistry, 1_000_000);
+
+        // When
+        String first = service.reserveOrGet("key-1", Duration.ofMinutes(1));
+        String second = service.reserveOrGet("key-1", Duration.ofMinutes(1));
+        service.markAsProcessed("key-1", "done");
+        String third = service.reserveOrGet("key-1", Duration.ofMinutes(1));
+
+        // Then
+        assertThat(first).isNull();
+        assertThat(second).isEqualTo(IdempotencyService.IN_PROGRESS);
+        assertThat(third).isEqualTo("done");
+    }
+
+    @Test
+    void shouldExtendOnlyItsOwnReservation() throws InterruptedException {
+        // Given
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(meterRegistry, 1_000_000);
+        service.reserveOrGet("key-1", "a:" + IdempotencyService.IN_PROGRESS, Duration.ofMillis(100));
+
+        // When
+        boolean extended = service.extendReservation("key-1", "a:" + IdempotencyService.IN_PROGRESS, Duration.ofMinutes(1));
+        boolean foreign = service.extendReservation("key-1", "b:" + IdempotencyService.IN_PROGRESS, Duration.ofMinutes(1));
+        Thread.sleep(200);
+        service.markAsProcessed("key-1", "done");
+        boolean afterResult = service.extendReservation("key-1", "a:" + IdempotencyService.IN_PROGRESS, Duration.ofMinutes(1));
+
+        // Then
+        assertThat(extended).isTrue();
+        assertThat(foreign).isFalse();
+        assertThat(afterResult).isFalse();
+        assertThat(service.getResult("key-1")).isEqualTo("done");
+    }
+
+    @Test
+    void shouldGrantReservationToExactlyOneConcurrentCaller() throws InterruptedException {
+        // Given
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(meterRegistry, 1_000_000);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<String> results = new ConcurrentLinkedQueue<>();
+
+        // When
+        for (int i = 0; i < 64; i++) {
+            executor.submit(() -> {
+                start.await();
+                results.add(String.valueOf(service.reserveOrGet("key-1", Duration.ofMinutes(1))));
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(results).hasSize(64);
+        assertThat(results).filteredOn("null"::equals).hasSize(1);
+    }
+
+    @Test
+    void shouldHandleMultiKeyVariants() {
+        // Given
+        InMemoryIdempotencyService service = new InMemoryIdempotencyService(meterRegistry, 1_000_000);
+        service.markAllAsProcessed(Map.of("a", "1", "b", "2"), Duration.ofMinutes(1));
+
+        // When
+        Map<String, String> results = service.getResults(List.of("a", "b", "c"));
+        Map<String, String> existing = service.reserveOrGetAll(List.of("a", "c"), Duration.ofMinutes(1));
+
+        // Then
+        assertThat(results).containsExactlyInAnyOrderEntriesOf(Map.of("a", "1", "b", "2"));
+        assertThat(existing).containsExactlyInAnyOrderEntriesOf(Map.of("a", "1"));
+        assertThat(service.getResult("c")).isEqualTo(IdempotencyService.IN_PROGRESS);
+    }
+}
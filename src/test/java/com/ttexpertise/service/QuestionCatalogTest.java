@@ -0,0 +1,109 @@
+package com.ttexpertise.service;
+
+import com.ttexpertise.model.entity.Question;
+import com.ttexpertise.model.event.QuestionCatalogChangedEvent;
+import com.ttexpertise.repository.QuestionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionCatalogTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private QuestionCatalog questionCatalog;
+
+    @Test
+    void shouldExposeActiveQuestionsAndLookups() {
+        // Given
+        when(questionRepository.findAll(any(Sort.class)))
+            .thenReturn(List.of(question(2L, "Tamponda çatlak var mı?", true),
+                                question(1L, "Kaputta göçük var mı?", true),
+                                question(3L, "Eski soru", false)));
+
+        // When
+        QuestionCatalog.Snapshot snapshot = questionCatalog.refresh();
+
+        // Then
+        assertThat(snapshot.version()).isEqualTo(1L);
+        assertThat(snapshot.activeQuestions())
+            .extracting(QuestionCatalog.CatalogQuestion::id)
+            .containsExactly(1L, 2L);
+        assertThat(snapshot.contains(3L)).isTrue();
+        assertThat(snapshot.isActive(3L)).isFalse();
+        assertThat(snapshot.text(1L)).isEqualTo("Kaputta göçük var mı?");
+        assertThat(snapshot.contains(42L)).isFalse();
+        assertThat(snapshot.text(42L)).isNull();
+    }
+
+    @Test
+    void shouldKeepVersionWhenContentIsUnchanged() {
+        // Given
+        when(questionRepository.findAll(any(Sort.class)))
+            .thenReturn(List.of(question(1L, "Kaputta göçük var mı?", true)));
+        QuestionCatalog.Snapshot first = questionCatalog.refresh();
+
+        // When
+        QuestionCatalog.Snapshot second = questionCatalog.refresh();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(eventPublisher, times(1)).publishEvent(new QuestionCatalogChangedEvent(1L));
+    }
+
+    @Test
+    void shouldSwapSnapshotWhenContentChanges() {
+        // Given
+        when(questionRepository.findAll(any(Sort.class)))
+            .thenReturn(List.of(question(1L, "Kaputta göçük var mı?", true)))
+            .thenReturn(List.of(question(1L, "Kaputta göçük var mı?", false)));
+        QuestionCatalog.Snapshot first = questionCatalog.refresh();
+
+        // When
+        QuestionCatalog.Snapshot refreshed = questionCatalog.refresh();
+
+        // Then
+        assertThat(refreshed.version()).isEqualTo(2L);
+        assertThat(refreshed.contentKey()).isNotEqualTo(first.contentKey());
+        assertThat(refreshed.activeQuestions()).isEmpty();
+        assertThat(questionCatalog.current()).isSameAs(refreshed);
+        verify(eventPublisher).publishEvent(new QuestionCatalogChangedEvent(2L));
+    }
+
+    @Test
+    void shouldDeriveContentKeyFromContentNotVersion() {
+        // Given - iki node aynı içeriği farklı versiyon sayacıyla yüklemiş
+        List<Question> questions = List.of(question(1L, "Kaputta göçük var mı?", true));
+
+        // When
+        QuestionCatalog.Snapshot onFirstNode = QuestionCatalog.Snapshot.of(1L, questions);
+        QuestionCatalog.Snapshot onSecondNode = QuestionCatalog.Snapshot.of(7L, questions);
+
+        // Then
+        assertThat(onFirstNode.contentKey()).isEqualTo(onSecondNode.contentKey());
+    }
+
+    private static Question question(Long id, String text, boolean active) {
+        Question question = new Question();
+        question.setId(id);
+        question.setText(text);
+        question.setActive(active);
+        return question;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ttexpertise.service;
+
+import com.ttexpertise.config.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardRoutingTest {
+
+    private static final List<String> URLS = List.of(
+            "jdbc:postgresql://shard0/db", "jdbc:postgresql://shard1/db", "jdbc:postgresql://shard2/db");
+
+    @Test
+    void shouldMapCarsStablyAndEvenlyAcrossShards() {
+        // Given
+        ShardRouting routing = new ShardRouting(true, URLS);
+        ShardRouting sameConfig = new ShardRouting(true, URLS);
+        int[] counts = new int[URLS.size()];
+
+        // When
+        IntStream.range(0, 30_000).mapToObj(i -> "CAR" + i).forEach(carId -> {
+            int shard = routing.shardOf(carId);
+            assertThat(sameConfig.shardOf(carId)).isEqualTo(shard);
+            counts[shard]++;
+        });
+
+        // Then - her shard payını ±%5 içinde alır
+        assertThat(IntStream.of(counts).boxed()).allSatisfy(count -> assertThat(count).isBetween(9_500, 10_500));
+    }
+
+    @Test
+    void shouldMoveOnlyCarsOfNewShardWhenShardIsAdded() {
+        // Given
+        ShardRouting two = new ShardRouting(true, URLS.subList(0, 2));
+        ShardRouting three = new ShardRouting(true, URLS);
+
+        // When
+        List<String> moved = IntStream.range(0, 10_000).mapToObj(i -> "CAR" + i)
+                .filter(carId -> two.shardOf(carId) != three.shardOf(carId))
+                .toList();
+
+        // Then - yer değiştiren araçların hepsi yeni shard'a gider
+        assertThat(moved).isNotEmpty().allSatisfy(carId -> assertThat(three.shardOf(carId)).isEqualTo(2));
+    }
+
+    @Test
+    void shouldGroupByShardKeepingOrderAndRestoreCurrentShard() {
+        // Given
+        ShardRouting routing = new ShardRouting(true, URLS);
+        List<String> carIds = IntStream.range(0, 50).mapToObj(i -> "CAR" + i).toList();
+
+        // When
+        Map<Integer, List<String>> groups = routing.groupByShard(carIds, Function.identity());
+        Integer inside = routing.forCar("CAR1", () -> routing.forShard(2, ShardRouting::currentShard));
+
+        // Then
+        groups.forEach((shard, group) -> assertThat(group)
+                .allSatisfy(carId -> assertThat(routing.shardOf(carId)).isEqualTo(shard))
+                .isSortedAccordingTo((a, b) -> Integer.compare(carIds.indexOf(a), carIds.indexOf(b))));
+        assertThat(groups.values().stream().mapToInt(List::size).sum()).isEqualTo(carIds.size());
+        assertThat(inside).isEqualTo(2);
+        assertThat(ShardRouting.currentShard()).isNull();
+    }
+
+    @Test
+    void shouldCountStatementsOfScatteredWorkInCallerScope() {
+        // Given
+        ShardRouting routing = new ShardRouting(true, URLS);
+        SqlStatementCounter counter = new SqlStatementCounter();
+
+        // When - her shard işi kendi sanal thread'inde iki statement çalıştırır
+        Map<Integer, Integer> shards;
+        long statements;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            shards = routing.scatter(routing.allShards(), shard -> {
+                counter.inspect("select 1");
+                counter.inspect("select 2");
+                return ShardRouting.currentShard();
+            });
+            statements = scope.statements();
+        }
+
+        // Then
+        assertThat(shards).isEqualTo(Map.of(0, 0, 1, 1, 2, 2));
+        assertThat(statements).isEqualTo(6);
+    }
+
+    @Test
+    void shouldUseSingleShardWhenDisabledAndRejectMissingUrls() {
+        // Given
+        ShardRouting disabled = new ShardRouting(false, List.of());
+
+        // When & Then
+        assertThat(disabled.shardCount()).isEqualTo(1);
+        assertThat(disabled.shardOf("CAR1")).isZero();
+        assertThat(disabled.forCar("CAR1", ShardRouting::currentShard)).isNull();
+        assertThatThrownBy(() -> new ShardRouting(true, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
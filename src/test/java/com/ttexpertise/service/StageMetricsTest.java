@@ -0,0 +1,60 @@
+package com.ttexpertise.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StageMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StageMetrics stageMetrics = new StageMetrics(meterRegistry);
+
+    @Test
+    void shouldRecordStageTimerEvenWhenStageFails() {
+        // When
+        String result = stageMetrics.record("read", "mapping", () -> "ok");
+        assertThatThrownBy(() -> stageMetrics.record("read", "mapping", (Runnable) () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then - aynı etiketler tek timer'a yazılır
+        Timer timer = meterRegistry.get("expertise.stage").tag("operation", "read").tag("stage", "mapping").timer();
+        assertThat(result).isEqualTo("ok");
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(meterRegistry.getMeters()).hasSize(1);
+    }
+
+    @Test
+    void shouldEmitJfrEventForStage(@TempDir Path dir) throws Exception {
+        // Given
+        Path file = dir.resolve("stages.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.ttexpertise.ExpertiseStage").withThreshold(Duration.ZERO);
+            recording.start();
+
+            // When
+            stageMetrics.start("create", "commit").end();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Then
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("operation")).isEqualTo("create");
+            assertThat(event.getString("stage")).isEqualTo("commit");
+        });
+    }
+}